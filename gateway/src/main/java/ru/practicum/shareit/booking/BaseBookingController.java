@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Обработчики запросов к бронированиям, общие для сервлетного и реактивного стека.
+ *
+ * @param <R> тип ответа клиента сервера: {@code ResponseEntity} или {@code Mono} с ним
+ */
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public abstract class BaseBookingController<R> {
+    private final BookingOperations<R> bookingClient;
+
+    @GetMapping
+    public R getBookingsByUser(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+            @PositiveOrZero @RequestParam(name = "from", required = false) Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        BookingState state = parseState(stateParam);
+        requireNoOffset(from, cursor);
+        log.info("Поступил GET-запрос в /bookings state={}, userId={}", stateParam, userId);
+        return bookingClient.getBookingsByUser(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner")
+    public R getBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+            @PositiveOrZero @RequestParam(name = "from", required = false) Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        BookingState state = parseState(stateParam);
+        requireNoOffset(from, cursor);
+        log.info("Поступил GET-запрос от владельца в /bookings/owner state={}, userId={}", stateParam, userId);
+        return bookingClient.getBookingsByOwner(userId, state, from, size, cursor);
+    }
+
+    @PostMapping
+    public R bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                      @RequestBody @Valid BookingCreateDto requestDto) {
+        log.info("Поступил POST-запрос в /bookings {}, userId={}", requestDto, userId);
+        return bookingClient.bookItem(userId, requestDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public R updateBookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                            @PathVariable Long bookingId,
+                            @RequestParam Boolean approved) {
+        log.info("Поступил PATCH-запрос в /bookings status={}, bookingId={} userId={}", approved, bookingId, userId);
+        return bookingClient.updateBookItem(userId, bookingId, approved);
+    }
+
+    @GetMapping("/{bookingId}")
+    public R getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                        @PathVariable Long bookingId) {
+        log.info("Поступил GET-запрос в /bookings/{} userId={}", bookingId, userId);
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    private static void requireNoOffset(@Nullable Integer from, @Nullable String cursor) {
+        if (from != null && cursor != null) {
+            throw new IllegalArgumentException("Параметры from и cursor нельзя передавать вместе");
+        }
+    }
+
+    private static BookingState parseState(String stateParam) {
+        return BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+    }
+}
\ No newline at end of file
@@ -1,60 +1,71 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
-
-import java.util.Map;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerCallGuards;
 
 @Service
-public class BookingClient extends BaseClient {
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BookingClient extends BaseClient implements BookingOperations<ResponseEntity<Object>> {
+    private static final String CLIENT_NAME = "bookings";
+    private static final String ITEMS_CACHE_PATH = "/items/";
+
+    private final ResponseCache responseCache;
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ServerCallGuards guards, RequestCoalescer requestCoalescer,
+                         ResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/bookings"))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + BookingPaths.API_PREFIX))
+                        .requestFactory(() -> guards.requestFactory(CLIENT_NAME))
+                        .build(),
+                requestCoalescer,
+                guards.forClient(CLIENT_NAME)
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> getBookingsByUser(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookingsByUser(long userId, BookingState state, @Nullable Integer from,
+                                                     Integer size, @Nullable String cursor) {
+        return get(BookingPaths.bookings(state, from, size, cursor), userId);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state, @Nullable Integer from,
+                                                      Integer size, @Nullable String cursor) {
+        return get(BookingPaths.ownerBookings(state, from, size, cursor), userId);
     }
 
-
     public ResponseEntity<Object> bookItem(long userId, BookingCreateDto requestDto) {
-        return post("", userId, requestDto);
+        ResponseEntity<Object> response = post(BookingPaths.bookings(), userId, requestDto);
+        responseCache.invalidate(ITEMS_CACHE_PATH + requestDto.getItemId());
+        return response;
     }
 
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
+        return get(BookingPaths.booking(bookingId), userId);
     }
 
     public ResponseEntity<Object> updateBookItem(long userId, Long bookingId, Boolean approved) {
-        Map<String, Object> parameters = Map.of(
-                "approved", approved
-        );
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        ResponseEntity<Object> response = patch(BookingPaths.approval(bookingId, approved), userId, null);
+        // бронирование меняет lastBooking и nextBooking вещи, её id есть только в ответе сервера
+        JsonNode itemId = jsonBody(response).path("item").path("id");
+        if (itemId.canConvertToLong()) {
+            responseCache.invalidate(ITEMS_CACHE_PATH + itemId.asLong());
+        } else {
+            responseCache.invalidatePrefix(ITEMS_CACHE_PATH);
+        }
+        return response;
     }
 }
\ No newline at end of file
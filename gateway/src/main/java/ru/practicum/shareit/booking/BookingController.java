@@ -1,67 +1,14 @@
 package ru.practicum.shareit.booking;
 
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.*;
-
-import javax.validation.Valid;
-import javax.validation.constraints.Positive;
-import javax.validation.constraints.PositiveOrZero;
 
 @Controller
-@RequestMapping(path = "/bookings")
-@RequiredArgsConstructor
-@Slf4j
-@Validated
-public class BookingController {
-    private final BookingClient bookingClient;
-
-    @GetMapping
-    public ResponseEntity<Object> getBookingsByUser(
-            @RequestHeader("X-Sharer-User-Id") long userId,
-            @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0", required = false) Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10", required = false) Integer size) {
-        BookingState state = BookingState.from(stateParam)
-                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Поступил GET-запрос в /bookings state={}, userId={}", stateParam, userId);
-        return bookingClient.getBookingsByUser(userId, state, from, size);
-    }
-
-    @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByOwner(
-            @RequestHeader("X-Sharer-User-Id") long userId,
-            @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0", required = false) Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10", required = false) Integer size) {
-        BookingState state = BookingState.from(stateParam)
-                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Поступил GET-запрос от владельца в /bookings/owner state={}, userId={}", stateParam, userId);
-        return bookingClient.getBookingsByOwner(userId, state, from, size);
-    }
-
-    @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @RequestBody @Valid BookingCreateDto requestDto) {
-        log.info("Поступил POST-запрос в /bookings {}, userId={}", requestDto, userId);
-        return bookingClient.bookItem(userId, requestDto);
-    }
-
-    @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBookItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                 @PathVariable Long bookingId,
-                                                 @RequestParam Boolean approved) {
-        log.info("Поступил PATCH-запрос в /bookings status={}, bookingId={} userId={}", approved, bookingId, userId);
-        return bookingClient.updateBookItem(userId, bookingId, approved);
-    }
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BookingController extends BaseBookingController<ResponseEntity<Object>> {
 
-    @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable Long bookingId) {
-        log.info("Поступил GET-запрос в /bookings/{} userId={}", bookingId, userId);
-        return bookingClient.getBooking(userId, bookingId);
+    public BookingController(BookingClient bookingClient) {
+        super(bookingClient);
     }
-}
\ No newline at end of file
+}
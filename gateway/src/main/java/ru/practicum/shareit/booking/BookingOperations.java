@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Запросы к бронированиям на сервере; реализуются сервлетным и реактивным клиентом.
+ *
+ * @param <R> тип ответа: {@code ResponseEntity} или {@code Mono} с ним
+ */
+interface BookingOperations<R> {
+    R getBookingsByUser(long userId, BookingState state, @Nullable Integer from,
+                         Integer size, @Nullable String cursor);
+
+    R getBookingsByOwner(long userId, BookingState state, @Nullable Integer from,
+                          Integer size, @Nullable String cursor);
+
+    R bookItem(long userId, BookingCreateDto requestDto);
+
+    R getBooking(long userId, Long bookingId);
+
+    R updateBookItem(long userId, Long bookingId, Boolean approved);
+}
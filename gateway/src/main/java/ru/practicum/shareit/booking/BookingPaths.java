@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.client.ServerPath;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Пути запросов к бронированиям относительно {@link #API_PREFIX}, общие для сервлетного и реактивного клиента.
+ */
+final class BookingPaths {
+    static final String API_PREFIX = "/bookings";
+
+    private BookingPaths() {
+    }
+
+    static ServerPath bookings() {
+        return ServerPath.of("");
+    }
+
+    static ServerPath bookings(BookingState state, @Nullable Integer from, Integer size, @Nullable String cursor) {
+        return bookings("", state, from, size, cursor);
+    }
+
+    static ServerPath ownerBookings(BookingState state, @Nullable Integer from, Integer size, @Nullable String cursor) {
+        return bookings("/owner", state, from, size, cursor);
+    }
+
+    static ServerPath booking(long bookingId) {
+        return ServerPath.of("/" + bookingId);
+    }
+
+    static ServerPath approval(long bookingId, Boolean approved) {
+        return ServerPath.of("/" + bookingId + "?approved={approved}", Map.of(
+                "approved", approved
+        ));
+    }
+
+    /**
+     * Номер первого элемента передаётся, только если его прислал клиент: сервер не принимает его вместе с курсором.
+     */
+    private static ServerPath bookings(String path, BookingState state, @Nullable Integer from, Integer size,
+                                       @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "size", size
+        ));
+        String query = "?state={state}&size={size}";
+        if (from != null) {
+            parameters.put("from", from);
+            query += "&from={from}";
+        }
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query += "&cursor={cursor}";
+        }
+        return ServerPath.of(path + query, parameters);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ReactiveServerCallGuards;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseClient
+        implements BookingOperations<Mono<ResponseEntity<Object>>> {
+
+    private static final String CLIENT_NAME = "bookings";
+
+    @Autowired
+    public ReactiveBookingClient(WebClient shareItServerWebClient, ReactiveServerCallGuards guards) {
+        super(shareItServerWebClient, BookingPaths.API_PREFIX, guards.forClient(CLIENT_NAME));
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsByUser(long userId, BookingState state, @Nullable Integer from,
+                                                           Integer size, @Nullable String cursor) {
+        return get(BookingPaths.bookings(state, from, size, cursor), userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsByOwner(long userId, BookingState state, @Nullable Integer from,
+                                                            Integer size, @Nullable String cursor) {
+        return get(BookingPaths.ownerBookings(state, from, size, cursor), userId);
+    }
+
+    public Mono<ResponseEntity<Object>> bookItem(long userId, BookingCreateDto requestDto) {
+        return post(BookingPaths.bookings(), userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
+        return get(BookingPaths.booking(bookingId), userId);
+    }
+
+    public Mono<ResponseEntity<Object>> updateBookItem(long userId, Long bookingId, Boolean approved) {
+        return patch(BookingPaths.approval(bookingId, approved), userId, null);
+    }
+}
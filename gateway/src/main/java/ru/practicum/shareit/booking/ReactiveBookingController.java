@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingController extends BaseBookingController<Mono<ResponseEntity<Object>>> {
+
+    public ReactiveBookingController(ReactiveBookingClient bookingClient) {
+        super(bookingClient);
+    }
+}
@@ -1,34 +1,117 @@
 package ru.practicum.shareit.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
     protected final RestTemplate rest;
+    @Nullable
+    private final RequestCoalescer coalescer;
+    @Nullable
+    private final ServerCallGuard guard;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable RequestCoalescer coalescer) {
+        this(rest, coalescer, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable RequestCoalescer coalescer, @Nullable ServerCallGuard guard) {
         this.rest = rest;
+        this.coalescer = coalescer;
+        this.guard = guard;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade", "content-length");
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static final ObjectMapper JSON = new ObjectMapper();
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    static final List<String> CONDITIONAL_HEADERS = List.of(HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+
+    static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status, @Nullable HttpHeaders headers,
+                                                         @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status)
+                .headers(passthroughHeaders(headers));
+
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
 
+    private static HttpHeaders passthroughHeaders(@Nullable HttpHeaders headers) {
+        HttpHeaders result = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    result.addAll(name, values);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Ответ 304 вместо закэшированного шлюзом ответа, если его ETag указан клиентом в {@code If-None-Match}.
+     */
+    static ResponseEntity<Object> notModifiedIfMatches(ResponseEntity<Object> response) {
+        String etag = response.getHeaders().getETag();
+        if (etag == null) {
+            return response;
+        }
+        HttpHeaders conditions = new HttpHeaders();
+        conditions.put(HttpHeaders.IF_NONE_MATCH, currentRequestHeader(HttpHeaders.IF_NONE_MATCH));
+        boolean matches = conditions.getIfNoneMatch().stream()
+                .anyMatch(tag -> tag.equals("*") || weakTag(tag).equals(weakTag(etag)));
+        if (!matches) {
+            return response;
+        }
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .headers(response.getHeaders())
+                .build();
+    }
+
+    /**
+     * JSON-тело ответа сервера; {@link MissingNode}, если тела нет или оно не JSON.
+     */
+    protected static JsonNode jsonBody(ResponseEntity<Object> response) {
+        if (!(response.getBody() instanceof byte[])) {
+            return MissingNode.getInstance();
+        }
+        try {
+            JsonNode body = JSON.readTree((byte[]) response.getBody());
+            return body != null ? body : MissingNode.getInstance();
+        } catch (IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    private static String weakTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
     protected ResponseEntity<Object> get(String path) {
         return get(path, null, null);
     }
@@ -89,20 +172,61 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> get(ServerPath path, @Nullable Long userId) {
+        return get(path.getTemplate(), userId, path.getParameters());
+    }
+
+    protected <T> ResponseEntity<Object> post(ServerPath path, @Nullable Long userId, T body) {
+        return post(path.getTemplate(), userId, path.getParameters(), body);
+    }
+
+    protected <T> ResponseEntity<Object> patch(ServerPath path, @Nullable Long userId, @Nullable T body) {
+        return patch(path.getTemplate(), userId, path.getParameters(), body);
+    }
+
+    protected ResponseEntity<Object> delete(ServerPath path, @Nullable Long userId) {
+        return delete(path.getTemplate(), userId, path.getParameters());
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        HttpHeaders headers = defaultHeaders(userId);
+        if (method == HttpMethod.GET) {
+            copyConditionalHeaders(headers);
+        }
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
 
-        ResponseEntity<Object> shareitServerResponse;
+        if (method != HttpMethod.GET || coalescer == null) {
+            return exchange(method, path, requestEntity, parameters);
+        }
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        return coalescer.execute(List.of(uri, headers),
+                () -> exchange(method, path, requestEntity, parameters));
+    }
+
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, HttpEntity<T> requestEntity,
+                                                @Nullable Map<String, Object> parameters) {
+        if (guard == null) {
+            return send(method, path, requestEntity, parameters);
+        }
+        return guard.call(() -> send(method, path, requestEntity, parameters));
+    }
+
+    private <T> ResponseEntity<Object> send(HttpMethod method, String path, HttpEntity<T> requestEntity,
+                                            @Nullable Map<String, Object> parameters) {
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -114,4 +238,22 @@ public class BaseClient {
         }
         return headers;
     }
-}
\ No newline at end of file
+
+    private static void copyConditionalHeaders(HttpHeaders headers) {
+        for (String name : CONDITIONAL_HEADERS) {
+            List<String> values = currentRequestHeader(name);
+            if (!values.isEmpty()) {
+                headers.put(name, values);
+            }
+        }
+    }
+
+    private static List<String> currentRequestHeader(String name) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return List.of();
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        return Collections.list(request.getHeaders(name));
+    }
+}
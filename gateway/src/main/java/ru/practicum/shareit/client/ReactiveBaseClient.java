@@ -0,0 +1,142 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class ReactiveBaseClient {
+    protected final WebClient webClient;
+    private final String apiPrefix;
+    @Nullable
+    private final ServerCallGuard guard;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this(webClient, null);
+    }
+
+    public ReactiveBaseClient(WebClient webClient, @Nullable ServerCallGuard guard) {
+        this(webClient, "", guard);
+    }
+
+    /**
+     * @param apiPrefix префикс API на сервере, к которому добавляются пути запросов клиента
+     */
+    public ReactiveBaseClient(WebClient webClient, String apiPrefix, @Nullable ServerCallGuard guard) {
+        this.webClient = webClient;
+        this.apiPrefix = apiPrefix;
+        this.guard = guard;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                    T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                     T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return delete(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(ServerPath path, @Nullable Long userId) {
+        return get(path.getTemplate(), userId, path.getParameters());
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(ServerPath path, @Nullable Long userId, T body) {
+        return post(path.getTemplate(), userId, path.getParameters(), body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(ServerPath path, @Nullable Long userId, @Nullable T body) {
+        return patch(path.getTemplate(), userId, path.getParameters(), body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(ServerPath path, @Nullable Long userId) {
+        return delete(path.getTemplate(), userId, path.getParameters());
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body) {
+        Mono<ResponseEntity<Object>> call = Mono.deferContextual(context -> {
+            Optional<ServerWebExchange> exchange = ServerWebExchangeContextFilter.get(Context.of(context));
+            WebClient.RequestBodySpec request = webClient.method(method)
+                    .uri(apiPrefix + path, parameters != null ? parameters : Map.of())
+                    .headers(headers -> {
+                        defaultHeaders(headers, userId);
+                        if (method == HttpMethod.GET) {
+                            exchange.ifPresent(e -> copyConditionalHeaders(e.getRequest().getHeaders(), headers));
+                        }
+                    });
+            WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+            return requestWithBody.exchangeToMono(response -> response.bodyToMono(byte[].class)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .map(responseBody -> BaseClient.prepareGatewayResponse(response.statusCode(),
+                            response.headers().asHttpHeaders(), responseBody.orElse(null))));
+        });
+        return guard != null ? guard.call(call) : call;
+    }
+
+    private static void copyConditionalHeaders(HttpHeaders from, HttpHeaders to) {
+        for (String name : BaseClient.CONDITIONAL_HEADERS) {
+            List<String> values = from.get(name);
+            if (values != null) {
+                to.put(name, values);
+            }
+        }
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+}
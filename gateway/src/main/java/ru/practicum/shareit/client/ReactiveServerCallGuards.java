@@ -0,0 +1,22 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulkhead и circuit breaker клиентов реактивного шлюза, с теми же именами и настройками, что у сервлетного.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveServerCallGuards {
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public ServerCallGuard forClient(String name) {
+        return new ServerCallGuard(circuitBreakerRegistry.circuitBreaker(name), bulkheadRegistry.bulkhead(name));
+    }
+}
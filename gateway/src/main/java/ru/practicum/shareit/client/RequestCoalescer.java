@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Объединяет одновременные одинаковые запросы к серверу: первый выполняет запрос,
+ * остальные дожидаются и получают тот же ответ.
+ */
+public class RequestCoalescer {
+    private final ConcurrentMap<Object, CompletableFuture<ResponseEntity<Object>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public ResponseEntity<Object> execute(Object key, Supplier<ResponseEntity<Object>> call) {
+        requests.increment();
+        CompletableFuture<ResponseEntity<Object>> own = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        try {
+            ResponseEntity<Object> response = call.get();
+            own.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getUpstreamCalls() {
+        return requests.sum() - coalesced.sum();
+    }
+
+    long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public double getFanIn() {
+        long upstreamCalls = getUpstreamCalls();
+        return upstreamCalls == 0 ? 0 : (double) getRequests() / upstreamCalls;
+    }
+
+    private static ResponseEntity<Object> await(CompletableFuture<ResponseEntity<Object>> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
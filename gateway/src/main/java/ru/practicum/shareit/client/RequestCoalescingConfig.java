@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RequestCoalescingConfig {
+
+    @Bean
+    public RequestCoalescer requestCoalescer() {
+        return new RequestCoalescer();
+    }
+
+    @Bean
+    public MeterBinder requestCoalescingMetrics(RequestCoalescer requestCoalescer) {
+        return registry -> {
+            FunctionCounter.builder("shareit.gateway.coalescing.requests", requestCoalescer,
+                            RequestCoalescer::getRequests)
+                    .description("GET-запросы к серверу, прошедшие через объединение")
+                    .register(registry);
+            FunctionCounter.builder("shareit.gateway.coalescing.upstream.calls", requestCoalescer,
+                            RequestCoalescer::getUpstreamCalls)
+                    .description("Запросы, фактически отправленные серверу")
+                    .register(registry);
+            Gauge.builder("shareit.gateway.coalescing.fan.in", requestCoalescer, RequestCoalescer::getFanIn)
+                    .description("Среднее число клиентских запросов на один запрос к серверу")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Кэш успешных ответов сервера на GET-запросы, ключ — путь и {@code X-Sharer-User-Id},
+ * если ответ зависит от пользователя. Записи вытесняются по TTL и по размеру.
+ */
+public class ResponseCache {
+    private final Cache<Key, ResponseEntity<Object>> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ResponseCache(ResponseCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    public ResponseEntity<Object> get(String path, @Nullable Long userId, Supplier<ResponseEntity<Object>> loader) {
+        return get(path, userId, loader, response -> true);
+    }
+
+    /**
+     * Как {@link #get(String, Long, Supplier)}, но успешный ответ кэшируется, только если его принимает {@code cacheable}.
+     */
+    public ResponseEntity<Object> get(String path, @Nullable Long userId, Supplier<ResponseEntity<Object>> loader,
+                                      Predicate<ResponseEntity<Object>> cacheable) {
+        Key key = new Key(path, userId);
+        ResponseEntity<Object> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return BaseClient.notModifiedIfMatches(cached);
+        }
+        long invalidationsBeforeLoad = invalidations.get();
+        ResponseEntity<Object> response = loader.get();
+        if (response.getStatusCode().is2xxSuccessful() && cacheable.test(response)) {
+            cache.put(key, response);
+            // ответ мог устареть, если во время запроса к серверу путь был инвалидирован
+            if (invalidations.get() != invalidationsBeforeLoad) {
+                cache.invalidate(key);
+            }
+        }
+        return response;
+    }
+
+    public void invalidate(String path) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.getPath().equals(path));
+    }
+
+    public void invalidatePrefix(String pathPrefix) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.getPath().startsWith(pathPrefix));
+    }
+
+    Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    @Value
+    private static class Key {
+        String path;
+        Long userId;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Ограничивает число одновременных запросов клиента к серверу и размыкает цепь,
+ * когда сервер отвечает ошибками 5xx или слишком медленно.
+ */
+public class ServerCallGuard {
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public ServerCallGuard(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    public ResponseEntity<Object> call(Supplier<ResponseEntity<Object>> call) {
+        Supplier<ResponseEntity<Object>> guarded = Bulkhead.decorateSupplier(bulkhead,
+                CircuitBreaker.decorateSupplier(circuitBreaker, () -> failOnServerError(call.get())));
+        try {
+            return guarded.get();
+        } catch (ServerErrorException e) {
+            return e.response;
+        }
+    }
+
+    public Mono<ResponseEntity<Object>> call(Mono<ResponseEntity<Object>> call) {
+        return call.map(ServerCallGuard::failOnServerError)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .onErrorResume(ServerErrorException.class, e -> Mono.just(e.response));
+    }
+
+    private static ResponseEntity<Object> failOnServerError(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is5xxServerError()) {
+            throw new ServerErrorException(response);
+        }
+        return response;
+    }
+
+    private static class ServerErrorException extends RuntimeException {
+        private final transient ResponseEntity<Object> response;
+
+        ServerErrorException(ResponseEntity<Object> response) {
+            super("Сервер ответил " + response.getStatusCode(), null, false, false);
+            this.response = response;
+        }
+    }
+}
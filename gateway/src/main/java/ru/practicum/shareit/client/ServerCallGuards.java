@@ -0,0 +1,42 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Настройки запросов к серверу для отдельного клиента: свой bulkhead, circuit breaker
+ * и таймаут чтения поверх общего пула соединений.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class ServerCallGuards {
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CloseableHttpClient shareItServerHttpClient;
+    private final ClientHttpRequestFactory shareItServerRequestFactory;
+    private final HttpClientProperties properties;
+
+    public ServerCallGuard forClient(String name) {
+        return new ServerCallGuard(circuitBreakerRegistry.circuitBreaker(name), bulkheadRegistry.bulkhead(name));
+    }
+
+    public ClientHttpRequestFactory requestFactory(String name) {
+        Duration readTimeout = properties.getClientReadTimeouts().get(name);
+        if (readTimeout == null) {
+            return shareItServerRequestFactory;
+        }
+        HttpComponentsClientHttpRequestFactory requestFactory =
+                new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient);
+        requestFactory.setReadTimeout((int) readTimeout.toMillis());
+        return requestFactory;
+    }
+}
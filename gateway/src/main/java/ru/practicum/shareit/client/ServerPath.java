@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Шаблон пути запроса к серверу относительно префикса API клиента и значения переменных шаблона.
+ * Один и тот же путь отправляют и сервлетный, и реактивный клиент.
+ */
+@Value
+public class ServerPath {
+    String template;
+    Map<String, Object> parameters;
+
+    public static ServerPath of(String template) {
+        return new ServerPath(template, Map.of());
+    }
+
+    public static ServerPath of(String template, Map<String, Object> parameters) {
+        return new ServerPath(template, parameters);
+    }
+}
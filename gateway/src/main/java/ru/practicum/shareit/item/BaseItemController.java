@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.forDto.Create;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import javax.validation.groups.Default;
+import java.util.List;
+
+/**
+ * Обработчики запросов к вещам, общие для сервлетного и реактивного стека.
+ *
+ * @param <R> тип ответа клиента сервера: {@code ResponseEntity} или {@code Mono} с ним
+ */
+@RequestMapping(path = "/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public abstract class BaseItemController<R> {
+    static final int BATCH_MAX_SIZE = 1000;
+
+    private final ItemOperations<R> itemClient;
+
+    @GetMapping
+    public R getAllByUser(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false) int from,
+            @Positive @RequestParam(value = "size", defaultValue = "10", required = false) int size) {
+        log.info("Поступил GET-запрос в /items userId={}", userId);
+        return itemClient.getAllByUser(userId, from, size);
+    }
+
+    @GetMapping("/{itemId}")
+    public R getItem(@PathVariable Long itemId,
+                     @RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Поступил GET-запрос в /items/{} userId={}", itemId, userId);
+        return itemClient.getItem(itemId, userId);
+    }
+
+    @PostMapping
+    public R create(@RequestHeader("X-Sharer-User-Id") long userId,
+                    @Validated({Create.class}) @RequestBody ItemDto createDto) {
+        log.info("Поступил POST-запрос в /items userId={}, item={}", userId, createDto);
+        return itemClient.create(userId, createDto);
+    }
+
+    @PostMapping("/batch")
+    @Validated({Create.class, Default.class})
+    public R createAll(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @NotEmpty(groups = Create.class) @Size(max = BATCH_MAX_SIZE, groups = Create.class)
+            @RequestBody List<@Valid ItemDto> createDtos) {
+        log.info("Поступил POST-запрос в /items/batch userId={}, items={}", userId, createDtos.size());
+        return itemClient.createAll(userId, createDtos);
+    }
+
+    @PatchMapping("/{itemId}")
+    public R update(@PathVariable Long itemId,
+                    @RequestHeader("X-Sharer-User-Id") long userId,
+                    @RequestBody ItemDto updateDto) {
+        log.info("Поступил PATCH-запрос в /items/{} userId={}, item={}", itemId, userId, updateDto);
+        return itemClient.update(userId, itemId, updateDto);
+    }
+
+    @GetMapping("/search")
+    public R search(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam String text,
+            @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false) int from,
+            @Positive @RequestParam(value = "size", defaultValue = "10", required = false) int size) {
+        log.info("Поступил GET-запрос в /search/{} userId={}", text, userId);
+        return itemClient.search(userId, text, from, size);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public R createComment(@RequestHeader("X-Sharer-User-Id") long userId,
+                           @PathVariable Long itemId,
+                           @Validated({Create.class}) @RequestBody CommentDto commentDto) {
+        log.info("Поступил POST-запрос в /items/{}/comment userId={}, comment={}", itemId, userId, commentDto);
+        return itemClient.createComment(userId, itemId, commentDto);
+    }
+}
\ No newline at end of file
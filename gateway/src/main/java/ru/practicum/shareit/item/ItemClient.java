@@ -1,60 +1,87 @@
 package ru.practicum.shareit.item;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ResponseCache;
 
-import java.util.Map;
+import java.util.List;
 
 @Service
-public class ItemClient extends BaseClient {
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ItemClient extends BaseClient implements ItemOperations<ResponseEntity<Object>> {
+    private static final String CLIENT_NAME = "items";
+    private static final String CACHE_PATH = "/items/";
+
+    private final ResponseCache responseCache;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ServerCallGuards guards, RequestCoalescer requestCoalescer,
+                      ResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/items"))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + ItemPaths.API_PREFIX))
+                        .requestFactory(() -> guards.requestFactory(CLIENT_NAME))
+                        .build(),
+                requestCoalescer,
+                guards.forClient(CLIENT_NAME)
         );
+        this.responseCache = responseCache;
     }
 
     public ResponseEntity<Object> getAllByUser(long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+        return get(ItemPaths.items(from, size), userId);
     }
 
+    /**
+     * Вид вещи для владельца с последним или следующим бронированием не кэшируется: он меняется со временем.
+     * Остальные ответы инвалидируются при изменении вещи, её бронирований и авторов отзывов.
+     */
     public ResponseEntity<Object> getItem(long itemId, long userId) {
-        return get("/" + itemId, userId);
+        return responseCache.get(CACHE_PATH + itemId, userId, () -> get(ItemPaths.item(itemId), userId),
+                ItemClient::withoutBookings);
     }
 
     public ResponseEntity<Object> create(long userId, ItemDto createDto) {
-        return post("", userId, createDto);
+        return post(ItemPaths.items(), userId, createDto);
+    }
+
+    public ResponseEntity<Object> createAll(long userId, List<ItemDto> createDtos) {
+        return post(ItemPaths.batch(), userId, createDtos);
     }
 
     public ResponseEntity<Object> update(long userId, long itemId, ItemDto updateDto) {
-        return patch("/" + itemId, userId, updateDto);
+        ResponseEntity<Object> response = patch(ItemPaths.item(itemId), userId, updateDto);
+        responseCache.invalidate(CACHE_PATH + itemId);
+        return response;
     }
 
     public ResponseEntity<Object> search(long userId, String text, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "text", text,
-                "from", from,
-                "size", size
-        );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return get(ItemPaths.search(text, from, size), userId);
+    }
+
+    private static boolean withoutBookings(ResponseEntity<Object> response) {
+        JsonNode item = jsonBody(response);
+        return isEmpty(item.path("lastBooking")) && isEmpty(item.path("nextBooking"));
+    }
+
+    private static boolean isEmpty(JsonNode node) {
+        return node.isMissingNode() || node.isNull();
     }
 
     public ResponseEntity<Object> createComment(long userId, long itemId, CommentDto commentRequestDto) {
-        return post("/" + itemId + "/comment", userId, commentRequestDto);
+        ResponseEntity<Object> response = post(ItemPaths.comment(itemId), userId, commentRequestDto);
+        responseCache.invalidate(CACHE_PATH + itemId);
+        return response;
     }
 }
\ No newline at end of file
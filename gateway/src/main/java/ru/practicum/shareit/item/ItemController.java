@@ -1,70 +1,14 @@
 package ru.practicum.shareit.item;
 
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.*;
-import ru.practicum.shareit.forDto.Create;
-
-import javax.validation.constraints.Positive;
-import javax.validation.constraints.PositiveOrZero;
 
 @Controller
-@RequestMapping(path = "/items")
-@RequiredArgsConstructor
-@Slf4j
-@Validated
-public class ItemController {
-    private final ItemClient itemClient;
-
-    @GetMapping
-    public ResponseEntity<Object> getAllByUser(
-            @RequestHeader("X-Sharer-User-Id") long userId,
-            @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false) int from,
-            @Positive @RequestParam(value = "size", defaultValue = "10", required = false) int size) {
-        log.info("Поступил GET-запрос в /items userId={}", userId);
-        return itemClient.getAllByUser(userId, from, size);
-    }
-
-    @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@PathVariable Long itemId,
-                                          @RequestHeader("X-Sharer-User-Id") long userId) {
-        log.info("Поступил GET-запрос в /items/{} userId={}", itemId, userId);
-        return itemClient.getItem(itemId, userId);
-    }
-
-    @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @Validated({Create.class}) @RequestBody ItemDto createDto) {
-        log.info("Поступил POST-запрос в /items userId={}, item={}", userId, createDto);
-        return itemClient.create(userId, createDto);
-    }
-
-    @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@PathVariable Long itemId,
-                                         @RequestHeader("X-Sharer-User-Id") long userId,
-                                         @RequestBody ItemDto updateDto) {
-        log.info("Поступил PATCH-запрос в /items/{} userId={}, item={}", itemId, userId, updateDto);
-        return itemClient.update(userId, itemId, updateDto);
-    }
-
-    @GetMapping("/search")
-    public ResponseEntity<Object> search(
-            @RequestHeader("X-Sharer-User-Id") long userId,
-            @RequestParam String text,
-            @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false) int from,
-            @Positive @RequestParam(value = "size", defaultValue = "10", required = false) int size) {
-        log.info("Поступил GET-запрос в /search/{} userId={}", text, userId);
-        return itemClient.search(userId, text, from, size);
-    }
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ItemController extends BaseItemController<ResponseEntity<Object>> {
 
-    @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                @PathVariable Long itemId,
-                                                @Validated({Create.class}) @RequestBody CommentDto commentDto) {
-        log.info("Поступил POST-запрос в /items/{}/comment userId={}, comment={}", itemId, userId, commentDto);
-        return itemClient.createComment(userId, itemId, commentDto);
+    public ItemController(ItemClient itemClient) {
+        super(itemClient);
     }
-}
\ No newline at end of file
+}
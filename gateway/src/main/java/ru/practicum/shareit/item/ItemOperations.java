@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item;
+
+import java.util.List;
+
+/**
+ * Запросы к вещам на сервере; реализуются сервлетным и реактивным клиентом.
+ *
+ * @param <R> тип ответа: {@code ResponseEntity} или {@code Mono} с ним
+ */
+interface ItemOperations<R> {
+    R getAllByUser(long userId, int from, int size);
+
+    R getItem(long itemId, long userId);
+
+    R create(long userId, ItemDto createDto);
+
+    R createAll(long userId, List<ItemDto> createDtos);
+
+    R update(long userId, long itemId, ItemDto updateDto);
+
+    R search(long userId, String text, int from, int size);
+
+    R createComment(long userId, long itemId, CommentDto commentDto);
+}
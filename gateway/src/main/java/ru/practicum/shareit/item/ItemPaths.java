@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.client.ServerPath;
+
+import java.util.Map;
+
+/**
+ * Пути запросов к вещам относительно {@link #API_PREFIX}, общие для сервлетного и реактивного клиента.
+ */
+final class ItemPaths {
+    static final String API_PREFIX = "/items";
+
+    private ItemPaths() {
+    }
+
+    static ServerPath items() {
+        return ServerPath.of("");
+    }
+
+    static ServerPath items(int from, int size) {
+        return ServerPath.of("?from={from}&size={size}", Map.of(
+                "from", from,
+                "size", size
+        ));
+    }
+
+    static ServerPath item(long itemId) {
+        return ServerPath.of("/" + itemId);
+    }
+
+    static ServerPath batch() {
+        return ServerPath.of("/batch");
+    }
+
+    static ServerPath search(String text, int from, int size) {
+        return ServerPath.of("/search?text={text}&from={from}&size={size}", Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        ));
+    }
+
+    static ServerPath comment(long itemId) {
+        return ServerPath.of("/" + itemId + "/comment");
+    }
+}
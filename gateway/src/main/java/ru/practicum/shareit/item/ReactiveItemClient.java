@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item;
+
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ReactiveServerCallGuards;
+
+import java.util.List;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient implements ItemOperations<Mono<ResponseEntity<Object>>> {
+
+    private static final String CLIENT_NAME = "items";
+
+    @Autowired
+    public ReactiveItemClient(WebClient shareItServerWebClient, ReactiveServerCallGuards guards) {
+        super(shareItServerWebClient, ItemPaths.API_PREFIX, guards.forClient(CLIENT_NAME));
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByUser(long userId, int from, int size) {
+        return get(ItemPaths.items(from, size), userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getItem(long itemId, long userId) {
+        return get(ItemPaths.item(itemId), userId);
+    }
+
+    public Mono<ResponseEntity<Object>> create(long userId, ItemDto createDto) {
+        return post(ItemPaths.items(), userId, createDto);
+    }
+
+    public Mono<ResponseEntity<Object>> createAll(long userId, List<ItemDto> createDtos) {
+        return post(ItemPaths.batch(), userId, createDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> update(long userId, long itemId, ItemDto updateDto) {
+        return patch(ItemPaths.item(itemId), userId, updateDto);
+    }
+
+    public Mono<ResponseEntity<Object>> search(long userId, String text, int from, int size) {
+        return get(ItemPaths.search(text, from, size), userId);
+    }
+
+    public Mono<ResponseEntity<Object>> createComment(long userId, long itemId, CommentDto commentRequestDto) {
+        return post(ItemPaths.comment(itemId), userId, commentRequestDto);
+    }
+}
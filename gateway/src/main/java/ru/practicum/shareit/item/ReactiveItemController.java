@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemController extends BaseItemController<Mono<ResponseEntity<Object>>> {
+
+    public ReactiveItemController(ReactiveItemClient itemClient) {
+        super(itemClient);
+    }
+}
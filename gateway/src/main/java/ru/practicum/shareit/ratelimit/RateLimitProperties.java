@@ -0,0 +1,29 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maximumBuckets = 100_000;
+    private Duration bucketIdleTimeout = Duration.ofMinutes(10);
+    /**
+     * Группы эндпоинтов в порядке проверки: запрос относится к первой группе, шаблон пути которой совпал.
+     */
+    private Map<String, Limit> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Limit {
+        private List<String> paths = new ArrayList<>();
+        private int capacity;
+        private double permitsPerSecond;
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitWebFilter implements WebFilter {
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper mapper;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Long userId = RateLimitFilter.userId(exchange.getRequest().getHeaders()
+                .getFirst(RateLimitFilter.USER_ID_HEADER));
+        if (userId == null) {
+            return chain.filter(exchange);
+        }
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        long wait = rateLimiter.tryAcquire(userId, path);
+        if (wait == 0) {
+            return chain.filter(exchange);
+        }
+        log.warn("Превышен лимит запросов userId={}, {} {}", userId, exchange.getRequest().getMethod(), path);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimitFilter.retryAfterSeconds(wait)));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            DataBuffer body = response.bufferFactory().wrap(mapper.writeValueAsBytes(
+                    new ErrorResponse("Слишком много запросов, повторите позже")));
+            return response.writeWith(Mono.just(body));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Ограничивает частоту запросов отдельного пользователя к группе эндпоинтов.
+ */
+public class RateLimiter {
+    private final List<Group> groups = new ArrayList<>();
+    private final Cache<Key, TokenBucket> buckets;
+
+    public RateLimiter(RateLimitProperties properties) {
+        PathPatternParser parser = new PathPatternParser();
+        properties.getGroups().forEach((name, limit) -> groups.add(new Group(name, limit,
+                limit.getPaths().stream().map(parser::parse).collect(Collectors.toList()))));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumBuckets())
+                .expireAfterAccess(properties.getBucketIdleTimeout())
+                .build();
+    }
+
+    /**
+     * @return 0, если запрос разрешён, иначе через сколько наносекунд его можно повторить
+     */
+    public long tryAcquire(long userId, String path) {
+        return tryAcquire(userId, path, System.nanoTime());
+    }
+
+    long tryAcquire(long userId, String path, long now) {
+        Group group = groupOf(path);
+        if (group == null) {
+            return 0;
+        }
+        TokenBucket bucket = buckets.get(new Key(userId, group.name),
+                key -> new TokenBucket(group.limit.getCapacity(), group.limit.getPermitsPerSecond(), now));
+        long wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            group.rejected.increment();
+        }
+        return wait;
+    }
+
+    Map<String, LongAdder> getRejected() {
+        return groups.stream().collect(Collectors.toMap(group -> group.name, group -> group.rejected));
+    }
+
+    @Nullable
+    private Group groupOf(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (Group group : groups) {
+            for (PathPattern pattern : group.patterns) {
+                if (pattern.matches(container)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Value
+    private static class Key {
+        long userId;
+        String group;
+    }
+
+    private static final class Group {
+        private final String name;
+        private final RateLimitProperties.Limit limit;
+        private final List<PathPattern> patterns;
+        private final LongAdder rejected = new LongAdder();
+
+        private Group(String name, RateLimitProperties.Limit limit, List<PathPattern> patterns) {
+            this.name = name;
+            this.limit = limit;
+            this.patterns = patterns;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket без блокировок: вместо числа токенов хранится момент, когда корзина снова станет полной
+ * (GCRA), и каждый запрос сдвигает его одной операцией CAS.
+ */
+class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, double permitsPerSecond, long now) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0, если токен получен, иначе через сколько наносекунд появится следующий токен
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + emissionIntervalNanos;
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.forDto.Create;
+
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Обработчики запросов в /requests, общие для сервлетного и реактивного стека.
+ *
+ * @param <R> тип ответа клиента сервера: {@code ResponseEntity} или {@code Mono} с ним
+ */
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public abstract class BaseRequestController<R> {
+    private final RequestOperations<R> requestClient;
+
+    @PostMapping
+    public R create(@RequestHeader("X-Sharer-User-Id") long userId,
+                    @Validated({Create.class}) @RequestBody ItemRequestDto requestDto) {
+        log.info("Поступил POST-запрос в /requests userId={}, request={}", userId, requestDto);
+        return requestClient.create(userId, requestDto);
+    }
+
+    @GetMapping("/all")
+    public R findAll(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false) int from,
+            @Positive @RequestParam(value = "size", defaultValue = "10", required = false) int size) {
+        log.info("Поступил GET-запрос в /requests/all userId={}", userId);
+        return requestClient.findAll(userId, from, size);
+    }
+
+    @GetMapping
+    public R findAllByUser(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Поступил GET-запрос в /requests userId={}", userId);
+        return requestClient.findAllByUser(userId);
+    }
+
+    @GetMapping("/{requestId}")
+    public R findById(@RequestHeader("X-Sharer-User-Id") long userId,
+                      @PathVariable Long requestId) {
+        log.info("Поступил GET-запрос в /requests/{} userId={}", requestId, userId);
+        return requestClient.findRequest(userId, requestId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ReactiveServerCallGuards;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestClient extends ReactiveBaseClient
+        implements RequestOperations<Mono<ResponseEntity<Object>>> {
+
+    private static final String CLIENT_NAME = "requests";
+
+    @Autowired
+    public ReactiveRequestClient(WebClient shareItServerWebClient, ReactiveServerCallGuards guards) {
+        super(shareItServerWebClient, RequestPaths.API_PREFIX, guards.forClient(CLIENT_NAME));
+    }
+
+    public Mono<ResponseEntity<Object>> create(long userId, ItemRequestDto requestCreateDto) {
+        return post(RequestPaths.requests(), userId, requestCreateDto);
+    }
+
+    public Mono<ResponseEntity<Object>> findAll(long userId, int from, int size) {
+        return get(RequestPaths.all(from, size), userId);
+    }
+
+    public Mono<ResponseEntity<Object>> findAllByUser(long userId) {
+        return get(RequestPaths.requests(), userId);
+    }
+
+    public Mono<ResponseEntity<Object>> findRequest(long userId, long requestId) {
+        return get(RequestPaths.request(requestId), userId);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestController extends BaseRequestController<Mono<ResponseEntity<Object>>> {
+
+    public ReactiveRequestController(ReactiveRequestClient requestClient) {
+        super(requestClient);
+    }
+}
@@ -2,45 +2,46 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
-
-import java.util.Map;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerCallGuards;
 
 @Service
-public class RequestClient extends BaseClient {
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestClient extends BaseClient implements RequestOperations<ResponseEntity<Object>> {
+    private static final String CLIENT_NAME = "requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ServerCallGuards guards, RequestCoalescer requestCoalescer) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/requests"))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + RequestPaths.API_PREFIX))
+                        .requestFactory(() -> guards.requestFactory(CLIENT_NAME))
+                        .build(),
+                requestCoalescer,
+                guards.forClient(CLIENT_NAME)
         );
     }
 
     public ResponseEntity<Object> create(long userId, ItemRequestDto requestCreateDto) {
-        return post("", userId, requestCreateDto);
+        return post(RequestPaths.requests(), userId, requestCreateDto);
     }
 
     public ResponseEntity<Object> findAll(long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return get(RequestPaths.all(from, size), userId);
     }
 
     public ResponseEntity<Object> findAllByUser(long userId) {
-        return get("", userId);
+        return get(RequestPaths.requests(), userId);
     }
 
     public ResponseEntity<Object> findRequest(long userId, long requestId) {
-        return get("/" + requestId, userId);
+        return get(RequestPaths.request(requestId), userId);
     }
 }
\ No newline at end of file
@@ -1,50 +1,14 @@
 package ru.practicum.shareit.request;
 
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.*;
-import ru.practicum.shareit.forDto.Create;
-
-import javax.validation.constraints.Positive;
-import javax.validation.constraints.PositiveOrZero;
 
 @Controller
-@RequestMapping(path = "/requests")
-@RequiredArgsConstructor
-@Slf4j
-@Validated
-public class RequestController {
-    private final RequestClient requestClient;
-
-    @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @Validated({Create.class}) @RequestBody ItemRequestDto requestDto) {
-        log.info("Поступил POST-запрос в /requests userId={}, request={}", userId, requestDto);
-        return requestClient.create(userId, requestDto);
-    }
-
-    @GetMapping("/all")
-    public ResponseEntity<Object> findAll(
-            @RequestHeader("X-Sharer-User-Id") long userId,
-            @PositiveOrZero @RequestParam(value = "from", defaultValue = "0", required = false) int from,
-            @Positive @RequestParam(value = "size", defaultValue = "10", required = false) int size) {
-        log.info("Поступил GET-запрос в /requests/all userId={}", userId);
-        return requestClient.findAll(userId, from, size);
-    }
-
-    @GetMapping
-    public ResponseEntity<Object> findAllByUser(@RequestHeader("X-Sharer-User-Id") long userId) {
-        log.info("Поступил GET-запрос в /requests userId={}", userId);
-        return requestClient.findAllByUser(userId);
-    }
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestController extends BaseRequestController<ResponseEntity<Object>> {
 
-    @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @PathVariable Long requestId) {
-        log.info("Поступил GET-запрос в /requests/{} userId={}", requestId, userId);
-        return requestClient.findRequest(userId, requestId);
+    public RequestController(RequestClient requestClient) {
+        super(requestClient);
     }
-}
\ No newline at end of file
+}
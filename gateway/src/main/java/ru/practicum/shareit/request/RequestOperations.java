@@ -0,0 +1,16 @@
+package ru.practicum.shareit.request;
+
+/**
+ * Запросы к запросам вещей на сервере; реализуются сервлетным и реактивным клиентом.
+ *
+ * @param <R> тип ответа: {@code ResponseEntity} или {@code Mono} с ним
+ */
+interface RequestOperations<R> {
+    R create(long userId, ItemRequestDto requestCreateDto);
+
+    R findAll(long userId, int from, int size);
+
+    R findAllByUser(long userId);
+
+    R findRequest(long userId, long requestId);
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.request;
+
+import ru.practicum.shareit.client.ServerPath;
+
+import java.util.Map;
+
+/**
+ * Пути запросов в /requests относительно {@link #API_PREFIX}, общие для сервлетного и реактивного клиента.
+ */
+final class RequestPaths {
+    static final String API_PREFIX = "/requests";
+
+    private RequestPaths() {
+    }
+
+    static ServerPath requests() {
+        return ServerPath.of("");
+    }
+
+    static ServerPath all(int from, int size) {
+        return ServerPath.of("/all?from={from}&size={size}", Map.of(
+                "from", from,
+                "size", size
+        ));
+    }
+
+    static ServerPath request(long requestId) {
+        return ServerPath.of("/" + requestId);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.forDto.Create;
+import ru.practicum.shareit.forDto.Update;
+
+/**
+ * Обработчики запросов к пользователям, общие для сервлетного и реактивного стека.
+ *
+ * @param <R> тип ответа клиента сервера: {@code ResponseEntity} или {@code Mono} с ним
+ */
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public abstract class BaseUserController<R> {
+    private final UserOperations<R> userClient;
+
+    @GetMapping
+    public R getAllUser() {
+        log.info("Поступил GET-запрос в /users");
+        return userClient.getAllUsers();
+    }
+
+    @GetMapping("/{userId}")
+    public R getUser(@PathVariable("userId") long userId) {
+        log.info("Поступил GET-запрос в /users/{}", userId);
+        return userClient.getUser(userId);
+    }
+
+    @PostMapping
+    public R createUser(@Validated({Create.class}) @RequestBody UserDto userDto) {
+        log.info("Поступил POST-запрос в /users userDto={}", userDto);
+        return userClient.createUser(userDto);
+    }
+
+    @PatchMapping("/{userId}")
+    public R updateUser(@PathVariable("userId") long userId,
+                        @Validated({Update.class}) @RequestBody UserDto userDto) {
+        log.info("Поступил PATCH-запрос в /users/{} userDto={}", userId, userDto);
+        return userClient.updateUser(userId, userDto);
+    }
+
+    @DeleteMapping("/{userId}")
+    public R deleteUser(@PathVariable("userId") long userId) {
+        log.info("Поступил DELETE-запрос в /users/{}", userId);
+        return userClient.deleteUser(userId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ReactiveServerCallGuards;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient implements UserOperations<Mono<ResponseEntity<Object>>> {
+
+    private static final String CLIENT_NAME = "users";
+
+    @Autowired
+    public ReactiveUserClient(WebClient shareItServerWebClient, ReactiveServerCallGuards guards) {
+        super(shareItServerWebClient, UserPaths.API_PREFIX, guards.forClient(CLIENT_NAME));
+    }
+
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return get(UserPaths.users(), null);
+    }
+
+    public Mono<ResponseEntity<Object>> getUser(long userId) {
+        return get(UserPaths.user(userId), null);
+    }
+
+    public Mono<ResponseEntity<Object>> createUser(UserDto userDto) {
+        return post(UserPaths.users(), null, userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> updateUser(long userId, UserDto userDto) {
+        return patch(UserPaths.user(userId), null, userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteUser(long userId) {
+        return delete(UserPaths.user(userId), null);
+    }
+}
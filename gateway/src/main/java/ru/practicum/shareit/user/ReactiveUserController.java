@@ -0,0 +1,15 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController extends BaseUserController<Mono<ResponseEntity<Object>>> {
+
+    public ReactiveUserController(ReactiveUserClient userClient) {
+        super(userClient);
+    }
+}
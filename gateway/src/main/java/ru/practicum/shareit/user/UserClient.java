@@ -2,43 +2,65 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ResponseCache;
 
 @Service
-public class UserClient extends BaseClient {
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UserClient extends BaseClient implements UserOperations<ResponseEntity<Object>> {
+    private static final String CLIENT_NAME = "users";
+    private static final String CACHE_PATH = "/users/";
+    private static final String ITEMS_CACHE_PATH = "/items/";
+
+    private final ResponseCache responseCache;
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ServerCallGuards guards, RequestCoalescer requestCoalescer,
+                      ResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/users"))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + UserPaths.API_PREFIX))
+                        .requestFactory(() -> guards.requestFactory(CLIENT_NAME))
+                        .build(),
+                requestCoalescer,
+                guards.forClient(CLIENT_NAME)
         );
+        this.responseCache = responseCache;
     }
 
     public ResponseEntity<Object> getAllUsers() {
-        return get("");
+        return get(UserPaths.users(), null);
     }
 
     public ResponseEntity<Object> getUser(long userId) {
-        return get("/" + userId);
+        return responseCache.get(CACHE_PATH + userId, null, () -> get(UserPaths.user(userId), null));
     }
 
     public ResponseEntity<Object> createUser(UserDto userDto) {
-        return post("", userDto);
+        return post(UserPaths.users(), null, userDto);
     }
 
     public ResponseEntity<Object> updateUser(long userId, UserDto userDto) {
-        return patch("/" + userId, userDto);
+        ResponseEntity<Object> response = patch(UserPaths.user(userId), null, userDto);
+        responseCache.invalidate(CACHE_PATH + userId);
+        // имя пользователя входит в отзывы к вещам как authorName
+        responseCache.invalidatePrefix(ITEMS_CACHE_PATH);
+        return response;
     }
 
     public ResponseEntity<Object> deleteUser(long userId) {
-        return delete("/" + userId);
+        ResponseEntity<Object> response = delete(UserPaths.user(userId), null);
+        responseCache.invalidate(CACHE_PATH + userId);
+        // сервер каскадом удаляет вещи пользователя и вещи по его запросам, их id шлюзу неизвестны
+        responseCache.invalidatePrefix(ITEMS_CACHE_PATH);
+        return response;
     }
 }
\ No newline at end of file
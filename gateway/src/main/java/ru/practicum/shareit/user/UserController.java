@@ -1,50 +1,14 @@
 package ru.practicum.shareit.user;
 
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.*;
-import ru.practicum.shareit.forDto.Create;
-import ru.practicum.shareit.forDto.Update;
 
 @Controller
-@RequestMapping(path = "/users")
-@RequiredArgsConstructor
-@Slf4j
-@Validated
-public class UserController {
-    private final UserClient userClient;
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UserController extends BaseUserController<ResponseEntity<Object>> {
 
-    @GetMapping
-    public ResponseEntity<Object> getAllUser() {
-        log.info("Поступил GET-запрос в /users");
-        return userClient.getAllUsers();
+    public UserController(UserClient userClient) {
+        super(userClient);
     }
-
-    @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable("userId") long userId) {
-        log.info("Поступил GET-запрос в /users/{}", userId);
-        return userClient.getUser(userId);
-    }
-
-    @PostMapping
-    public ResponseEntity<Object> createUser(@Validated({Create.class}) @RequestBody UserDto userDto) {
-        log.info("Поступил POST-запрос в /users userDto={}", userDto);
-        return userClient.createUser(userDto);
-    }
-
-    @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable("userId") long userId,
-                                             @Validated({Update.class}) @RequestBody UserDto userDto) {
-        log.info("Поступил PATCH-запрос в /users/{} userDto={}", userId, userDto);
-        return userClient.updateUser(userId, userDto);
-    }
-
-    @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable("userId") long userId) {
-        log.info("Поступил DELETE-запрос в /users/{}", userId);
-        return userClient.deleteUser(userId);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.user;
+
+/**
+ * Запросы к пользователям на сервере; реализуются сервлетным и реактивным клиентом.
+ *
+ * @param <R> тип ответа: {@code ResponseEntity} или {@code Mono} с ним
+ */
+interface UserOperations<R> {
+    R getAllUsers();
+
+    R getUser(long userId);
+
+    R createUser(UserDto userDto);
+
+    R updateUser(long userId, UserDto userDto);
+
+    R deleteUser(long userId);
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.user;
+
+import ru.practicum.shareit.client.ServerPath;
+
+/**
+ * Пути запросов к пользователям относительно {@link #API_PREFIX}, общие для сервлетного и реактивного клиента.
+ */
+final class UserPaths {
+    static final String API_PREFIX = "/users";
+
+    private UserPaths() {
+    }
+
+    static ServerPath users() {
+        return ServerPath.of("");
+    }
+
+    static ServerPath user(long userId) {
+        return ServerPath.of("/" + userId);
+    }
+}
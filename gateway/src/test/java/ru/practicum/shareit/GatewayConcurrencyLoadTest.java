@@ -0,0 +1,118 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузочное сравнение сервлетного и реактивного стека шлюза при медленном сервере:
+ * сервер отвечает с задержкой, шлюз ограничен {@link #SERVLET_THREADS} рабочими потоками Tomcat.
+ */
+@Slf4j
+class GatewayConcurrencyLoadTest {
+
+    private static final int SERVLET_THREADS = 8;
+    private static final int CLIENTS = 64;
+    private static final long SERVER_DELAY_MS = 300;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private ExecutorService serverExecutor;
+    private HttpServer slowServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(CLIENTS);
+        slowServer = HttpServer.create(new InetSocketAddress("localhost", 0), CLIENTS);
+        slowServer.createContext("/users", exchange -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(SERVER_DELAY_MS);
+                byte[] body = "{\"id\":1,\"name\":\"name\",\"email\":\"name@email.ru\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        slowServer.setExecutor(serverExecutor);
+        slowServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowServer.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void slowServer_whenServletStack_thenConcurrencyCappedByWorkerThreads() throws Exception {
+        int peak = runLoad(new SpringApplicationBuilder(ShareItGateway.class), "servlet");
+
+        assertThat(peak).isLessThanOrEqualTo(SERVLET_THREADS);
+    }
+
+    @Test
+    void slowServer_whenReactiveStack_thenConcurrencyNotCappedByWorkerThreads() throws Exception {
+        int peak = runLoad(new SpringApplicationBuilder(ShareItGateway.class).profiles("reactive"), "reactive");
+
+        assertThat(peak).isGreaterThan(SERVLET_THREADS);
+    }
+
+    private int runLoad(SpringApplicationBuilder gateway, String stack) throws Exception {
+        try (ConfigurableApplicationContext context = gateway.run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + SERVLET_THREADS,
+                "--server.tomcat.threads.min-spare=" + SERVLET_THREADS,
+                "--resilience4j.bulkhead.configs.default.max-concurrent-calls=" + CLIENTS,
+                "--shareit-server.url=http://localhost:" + slowServer.getAddress().getPort())) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+            long started = System.nanoTime();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                // у каждого клиента свой путь, иначе шлюз отдаст ответ из кэша или склеит запросы в один
+                URI uri = URI.create("http://localhost:" + port + "/users/" + (i + 1));
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertThat(response.get().statusCode()).isEqualTo(200);
+            }
+            long elapsedMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+            log.info("Шлюз {}: {} запросов за {} мс, одновременно у сервера не более {}",
+                    stack, CLIENTS, elapsedMs, peakInFlight.get());
+            return peakInFlight.get();
+        }
+    }
+}
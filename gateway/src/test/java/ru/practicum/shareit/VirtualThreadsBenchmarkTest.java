@@ -0,0 +1,151 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Запросы в секунду и p99 шлюза на пуле потоков Tomcat и на виртуальных потоках при медленном сервере.
+ * Число одновременных клиентов задаётся свойством {@code benchmark.clients}, например
+ * {@code -Dbenchmark.clients=1000,5000,10000}. Клиенты и шлюз работают в одной JVM, поэтому для 10000 клиентов
+ * лимит открытых файлов должен быть больше 20000.
+ */
+@Slf4j
+@Tag("benchmark")
+class VirtualThreadsBenchmarkTest {
+
+    private static final long SERVER_DELAY_MS = 100;
+    private static final int WARM_UP_CLIENTS = 200;
+
+    /**
+     * Каждый запрос идёт к новому пользователю, чтобы кэш и склейка запросов шлюза не подменяли поход к серверу.
+     */
+    private final AtomicLong nextUserId = new AtomicLong();
+
+    private ExecutorService serverExecutor;
+    private HttpServer slowServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        slowServer = HttpServer.create(new InetSocketAddress("localhost", 0), 10_000);
+        slowServer.createContext("/users", exchange -> {
+            try {
+                Thread.sleep(SERVER_DELAY_MS);
+                byte[] body = "{\"id\":1,\"name\":\"name\",\"email\":\"name@email.ru\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        slowServer.setExecutor(serverExecutor);
+        slowServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowServer.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void platformThreads_whenManyConcurrentClients_thenAllRequestsServed() throws Exception {
+        runBenchmark(new SpringApplicationBuilder(ShareItGateway.class), "platform");
+    }
+
+    @Test
+    void virtualThreads_whenManyConcurrentClients_thenAllRequestsServed() throws Exception {
+        runBenchmark(new SpringApplicationBuilder(ShareItGateway.class).profiles("virtual-threads"), "virtual");
+    }
+
+    private void runBenchmark(SpringApplicationBuilder gateway, String mode) throws Exception {
+        try (ConfigurableApplicationContext context = gateway.run(
+                "--server.port=0",
+                "--server.tomcat.max-connections=10000",
+                "--server.tomcat.accept-count=1000",
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+                "--resilience4j.bulkhead.configs.default.max-concurrent-calls=10000",
+                "--shareit-server.url=" + serverUrl())) {
+            String gatewayUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newCachedThreadPool())
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            sendConcurrently(client, gatewayUrl, WARM_UP_CLIENTS);
+            for (int clients : clients()) {
+                long[] latencies = sendConcurrently(client, gatewayUrl, clients);
+                long elapsedNanos = latencies[latencies.length - 1];
+                long[] sorted = Arrays.copyOf(latencies, clients);
+                Arrays.sort(sorted);
+                long p99Ms = Duration.ofNanos(sorted[(int) Math.ceil(clients * 0.99) - 1]).toMillis();
+                double requestsPerSecond = clients * 1_000_000_000.0 / elapsedNanos;
+
+                log.info("Потоки {}: клиентов {}, {} запросов/с, p99 {} мс",
+                        mode, clients, Math.round(requestsPerSecond), p99Ms);
+                assertThat(p99Ms).isGreaterThanOrEqualTo(SERVER_DELAY_MS);
+            }
+        }
+    }
+
+    /**
+     * Возвращает задержки каждого запроса и последним элементом — общее время прогона, в наносекундах.
+     */
+    private long[] sendConcurrently(HttpClient client, String gatewayUrl, int clients) throws Exception {
+        long[] latencies = new long[clients + 1];
+        List<CompletableFuture<Void>> responses = new ArrayList<>(clients);
+        long started = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            int index = i;
+            URI uri = URI.create(gatewayUrl + "/users/" + nextUserId.incrementAndGet());
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            long sent = System.nanoTime();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        assertThat(response.statusCode()).isEqualTo(200);
+                        latencies[index] = System.nanoTime() - sent;
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get();
+        latencies[clients] = System.nanoTime() - started;
+        return latencies;
+    }
+
+    private String serverUrl() {
+        return "http://localhost:" + slowServer.getAddress().getPort();
+    }
+
+    private static int[] clients() {
+        return Arrays.stream(System.getProperty("benchmark.clients", "1000").split(","))
+                .mapToInt(clients -> Integer.parseInt(clients.trim()))
+                .toArray();
+    }
+}
@@ -8,14 +8,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -110,7 +110,7 @@ public class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getBookingsByUser(anyLong(), any(BookingState.class), anyInt(), anyInt());
+        verify(bookingClient, never()).getBookingsByUser(anyLong(), any(BookingState.class), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -127,7 +127,7 @@ public class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getBookingsByUser(anyLong(), any(BookingState.class), anyInt(), anyInt());
+        verify(bookingClient, never()).getBookingsByUser(anyLong(), any(BookingState.class), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -144,7 +144,7 @@ public class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt());
+        verify(bookingClient, never()).getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -161,7 +161,40 @@ public class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt());
+        verify(bookingClient, never()).getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt(), any());
     }
 
+    @Test
+    void getAllByUserQuery_whenCursorGiven_thenCursorPassedToServer() throws Exception {
+        when(bookingClient.getBookingsByUser(1L, BookingState.ALL, null, 10, "cursor"))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "ALL")
+                        .param("size", "10")
+                        .param("cursor", "cursor")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).getBookingsByUser(1L, BookingState.ALL, null, 10, "cursor");
+    }
+
+    @Test
+    void getAllByUserQuery_whenCursorAndFromGiven_thenStatusIsBadRequest() throws Exception {
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "10")
+                        .param("cursor", "cursor")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).getBookingsByUser(anyLong(), any(BookingState.class), any(), anyInt(), any());
+    }
 }
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(controllers = ReactiveBookingController.class)
+class ReactiveBookingControllerTest {
+
+    @MockBean
+    private ReactiveBookingClient bookingClient;
+
+    @Autowired
+    private WebTestClient client;
+
+    private BookingCreateDto bookingCreateDto;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime start = LocalDateTime.now().plusMinutes(1).withNano(0);
+        LocalDateTime end = start.plusMinutes(10);
+        bookingCreateDto = BookingCreateDto.builder()
+                .itemId(1L)
+                .startTime(start)
+                .endTime(end)
+                .build();
+    }
+
+    @AfterEach
+    void clean() {
+        bookingCreateDto = null;
+    }
+
+    @Test
+    void create_whenBookingValid_thenBookingPassedToServer() {
+        when(bookingClient.bookItem(1L, bookingCreateDto))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        client.post().uri("/bookings")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookingCreateDto)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(bookingClient).bookItem(1L, bookingCreateDto);
+    }
+
+    @Test
+    void create_whenEndBeforeStart_thenStatusIsBadRequest() {
+        bookingCreateDto.setEndTime(LocalDateTime.now().minusMinutes(3));
+
+        client.post().uri("/bookings")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookingCreateDto)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).bookItem(anyLong(), any(BookingCreateDto.class));
+    }
+
+    @Test
+    void getAllByUserQuery_whenParamFromIsNotValid_thenStatusIsBadRequest() {
+        client.get().uri("/bookings?state=ALL&from=-1&size=10")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).getBookingsByUser(anyLong(), any(BookingState.class), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void getAllByOwnerQuery_whenParamSizeIsNotValid_thenStatusIsBadRequest() {
+        client.get().uri("/bookings/owner?state=ALL&from=5&size=0")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void getAllByUserQuery_whenStateUnknown_thenStatusIsBadRequest() {
+        client.get().uri("/bookings?state=UNSUPPORTED")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).getBookingsByUser(anyLong(), any(BookingState.class), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void getBooking_whenUserHeaderMissing_thenStatusIsBadRequest() {
+        client.get().uri("/bookings/1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).getBooking(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,235 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@Slf4j
+class BaseClientTest {
+
+    private static final int ITERATIONS = 200;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+    private BaseClient client;
+
+    @BeforeEach
+    void setUp() {
+        rest = new RestTemplate();
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new BaseClient(rest);
+    }
+
+    @Test
+    void get_whenServerRespondsOk_thenBodyAndHeadersPassedThroughUnchanged() {
+        String body = items(3);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "cursor");
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        server.expect(requestTo("/items"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = client.get("/items", 1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(body.getBytes(StandardCharsets.UTF_8));
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("cursor");
+        assertThat(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING)).isFalse();
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONNECTION)).isFalse();
+        server.verify();
+    }
+
+    @Test
+    void get_whenServerRespondsWithError_thenStatusAndBodyPassedThrough() {
+        String error = "{\"error\":\"Пользователь с id: 1 не найден\"}";
+        server.expect(requestTo("/items/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(error.getBytes(StandardCharsets.UTF_8)));
+
+        ResponseEntity<Object> response = client.get("/items/1", 1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isEqualTo(error.getBytes(StandardCharsets.UTF_8));
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void delete_whenServerRespondsWithoutBody_thenResponseHasNoBody() {
+        server.expect(requestTo("/users/1"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withSuccess());
+
+        ResponseEntity<Object> response = client.delete("/users/1");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.hasBody()).isFalse();
+    }
+
+    @Test
+    void get_whenClientSentIfNoneMatch_thenHeaderForwardedAndNotModifiedPassedThrough() {
+        MockHttpServletRequest clientRequest = new MockHttpServletRequest();
+        clientRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"0abc\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(clientRequest));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"0abc\"");
+        server.expect(requestTo("/items"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"0abc\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(headers));
+
+        try {
+            ResponseEntity<Object> response = client.get("/items", 1L);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getHeaders().getETag()).isEqualTo("\"0abc\"");
+            assertThat(response.hasBody()).isFalse();
+            server.verify();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void post_whenClientSentIfNoneMatch_thenHeaderNotForwarded() {
+        MockHttpServletRequest clientRequest = new MockHttpServletRequest();
+        clientRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"0abc\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(clientRequest));
+        server.expect(requestTo("/items"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess());
+
+        try {
+            client.post("/items", 1L, Map.of("name", "name"));
+
+            server.verify();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void get_whenIdenticalRequestsConcurrent_thenOneUpstreamCall() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        BaseClient coalescingClient = new BaseClient(rest, coalescer);
+        String body = items(10);
+        server.expect(ExpectedCount.once(), requestTo("/items/search?text=drill"))
+                .andRespond(request -> {
+                    sleep(300);
+                    return withSuccess(body, MediaType.APPLICATION_JSON).createResponse(request);
+                });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<ResponseEntity<Object>>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return coalescingClient.get("/items/search?text={text}", 1L, Map.of("text", "drill"));
+                }));
+            }
+            start.countDown();
+            for (Future<ResponseEntity<Object>> response : responses) {
+                assertThat(response.get().getBody()).isEqualTo(body.getBytes(StandardCharsets.UTF_8));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        server.verify();
+        assertThat(coalescer.getFanIn()).isEqualTo(8.0);
+        log.info("Объединение запросов: {} клиентских запросов, {} к серверу",
+                coalescer.getRequests(), coalescer.getUpstreamCalls());
+    }
+
+    @Tag("benchmark")
+    @Test
+    void get_whenListsOfDifferentSize_thenPassthroughOverheadLogged() throws Exception {
+        for (int size : new int[]{10, 100, 1000}) {
+            String body = items(size);
+            byte[] expected = body.getBytes(StandardCharsets.UTF_8);
+            server.reset();
+            server.expect(ExpectedCount.manyTimes(), requestTo("/items"))
+                    .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+            long reparse = 0;
+            long passthrough = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long started = System.nanoTime();
+                Object parsed = rest.exchange("/items", HttpMethod.GET, null, Object.class).getBody();
+                mapper.writeValueAsBytes(parsed);
+                reparse += System.nanoTime() - started;
+
+                started = System.nanoTime();
+                ResponseEntity<Object> response = client.get("/items");
+                passthrough += System.nanoTime() - started;
+                assertThat(response.getBody()).isEqualTo(expected);
+            }
+            log.info("{} элементов: разбор и сериализация {} мкс, передача байтов {} мкс на запрос",
+                    size, reparse / ITERATIONS / 1000, passthrough / ITERATIONS / 1000);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String items(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> toJson(Map.of(
+                        "id", i,
+                        "name", "item" + i,
+                        "description", "description of item " + i,
+                        "available", true)))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientConfigTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withUserConfiguration(HttpClientConfig.class);
+
+    @Test
+    void connectionManager_whenPropertiesSet_thenPoolSizedFromProperties() {
+        contextRunner
+                .withPropertyValues(
+                        "shareit-server.http-client.max-connections=64",
+                        "shareit-server.http-client.max-connections-per-route=32")
+                .run(context -> {
+                    PoolingHttpClientConnectionManager connectionManager =
+                            context.getBean(PoolingHttpClientConnectionManager.class);
+
+                    assertThat(connectionManager.getMaxTotal()).isEqualTo(64);
+                    assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(32);
+                    assertThat(context).hasSingleBean(ClientHttpRequestFactory.class);
+                });
+    }
+
+    @Test
+    void poolMetrics_whenBound_thenLeasedPendingAndAvailableConnectionsReported() {
+        contextRunner.run(context -> {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean(MeterBinder.class).bindTo(registry);
+
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.connections")
+                    .tag("httpclient", HttpClientConfig.POOL_NAME)
+                    .tag("state", "leased")
+                    .gauge().value()).isEqualTo(0.0);
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.connections")
+                    .tag("state", "available")
+                    .gauge().value()).isEqualTo(0.0);
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.pending")
+                    .gauge().value()).isEqualTo(0.0);
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.max")
+                    .gauge().value()).isEqualTo(200.0);
+        });
+    }
+}
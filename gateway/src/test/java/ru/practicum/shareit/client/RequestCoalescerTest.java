@@ -0,0 +1,141 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    private static final int CLIENTS = 16;
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+    private final CountDownLatch serverResponds = new CountDownLatch(1);
+    private final AtomicInteger serverCalls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_whenIdenticalRequestsInFlight_thenServerCalledOnceAndResponseShared() throws Exception {
+        List<Future<ResponseEntity<Object>>> responses = sendConcurrently("/items/search?text=дрель");
+
+        serverResponds.countDown();
+
+        ResponseEntity<Object> first = responses.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<ResponseEntity<Object>> response : responses) {
+            assertThat(response.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        assertThat(serverCalls).hasValue(1);
+        assertThat(coalescer.getFanIn()).isEqualTo(CLIENTS);
+    }
+
+    @Test
+    void execute_whenPreviousRequestCompleted_thenServerCalledAgain() {
+        serverResponds.countDown();
+
+        coalescer.execute("/items/1", slowServer());
+        coalescer.execute("/items/1", slowServer());
+
+        assertThat(serverCalls).hasValue(2);
+    }
+
+    @Test
+    void execute_whenDifferentRequests_thenNotCoalesced() {
+        serverResponds.countDown();
+
+        coalescer.execute("/items/1", slowServer());
+        coalescer.execute("/items/2", slowServer());
+
+        assertThat(serverCalls).hasValue(2);
+        assertThat(coalescer.getFanIn()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_whenServerCallFails_thenAllWaitingRequestsFail() throws Exception {
+        CountDownLatch failServer = new CountDownLatch(1);
+        Future<ResponseEntity<Object>> leader = executor.submit(() -> coalescer.execute("/items/1", () -> {
+            await(failServer);
+            throw new IllegalStateException("Сервер недоступен");
+        }));
+        waitUntil(() -> coalescer.getRequests() == 1);
+        Future<ResponseEntity<Object>> follower = executor.submit(() -> coalescer.execute("/items/1", slowServer()));
+        waitUntil(() -> coalescer.getCoalesced() == 1);
+
+        failServer.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(serverCalls).hasValue(0);
+    }
+
+    @Test
+    void metrics_whenBound_thenRequestsUpstreamCallsAndFanInReported() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new RequestCoalescingConfig().requestCoalescingMetrics(coalescer).bindTo(registry);
+        List<Future<ResponseEntity<Object>>> responses = sendConcurrently("/items/1");
+        serverResponds.countDown();
+        for (Future<ResponseEntity<Object>> response : responses) {
+            response.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(registry.get("shareit.gateway.coalescing.requests").functionCounter().count())
+                .isEqualTo(CLIENTS);
+        assertThat(registry.get("shareit.gateway.coalescing.upstream.calls").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("shareit.gateway.coalescing.fan.in").gauge().value()).isEqualTo(CLIENTS);
+    }
+
+    private List<Future<ResponseEntity<Object>>> sendConcurrently(String key) throws InterruptedException {
+        List<Future<ResponseEntity<Object>>> responses = new ArrayList<>();
+        responses.add(executor.submit(() -> coalescer.execute(key, slowServer())));
+        waitUntil(() -> coalescer.getRequests() == 1);
+        for (int i = 1; i < CLIENTS; i++) {
+            responses.add(executor.submit(() -> coalescer.execute(key, slowServer())));
+        }
+        waitUntil(() -> coalescer.getCoalesced() == CLIENTS - 1);
+        return responses;
+    }
+
+    private Supplier<ResponseEntity<Object>> slowServer() {
+        return () -> {
+            await(serverResponds);
+            serverCalls.incrementAndGet();
+            return ResponseEntity.ok(new byte[]{'[', ']'});
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.get()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
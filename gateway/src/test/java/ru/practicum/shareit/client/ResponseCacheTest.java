@@ -0,0 +1,164 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+
+    private static final String ETAG = "\"0abc\"";
+
+    private ResponseCacheProperties properties;
+    private AtomicInteger serverCalls;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        serverCalls = new AtomicInteger();
+    }
+
+    @Test
+    void get_whenCalledTwiceForSamePathAndUser_thenServerCalledOnce() {
+        ResponseCache cache = new ResponseCache(properties);
+
+        cache.get("/items/1", 1L, server(HttpStatus.OK));
+        ResponseEntity<Object> response = cache.get("/items/1", 1L, server(HttpStatus.OK));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(serverCalls).hasValue(1);
+    }
+
+    @Test
+    void get_whenDifferentUsers_thenResponsesCachedSeparately() {
+        ResponseCache cache = new ResponseCache(properties);
+
+        cache.get("/items/1", 1L, server(HttpStatus.OK));
+        cache.get("/items/1", 2L, server(HttpStatus.OK));
+
+        assertThat(serverCalls).hasValue(2);
+    }
+
+    @Test
+    void get_whenServerRespondsWithError_thenResponseNotCached() {
+        ResponseCache cache = new ResponseCache(properties);
+
+        cache.get("/users/1", null, server(HttpStatus.NOT_FOUND));
+        ResponseEntity<Object> response = cache.get("/users/1", null, server(HttpStatus.NOT_FOUND));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(serverCalls).hasValue(2);
+    }
+
+    @Test
+    void invalidate_whenPathCachedForSeveralUsers_thenAllUsersReloadAndOtherPathsKept() {
+        ResponseCache cache = new ResponseCache(properties);
+        cache.get("/items/1", 1L, server(HttpStatus.OK));
+        cache.get("/items/1", 2L, server(HttpStatus.OK));
+        cache.get("/items/2", 1L, server(HttpStatus.OK));
+
+        cache.invalidate("/items/1");
+        cache.get("/items/1", 1L, server(HttpStatus.OK));
+        cache.get("/items/1", 2L, server(HttpStatus.OK));
+        cache.get("/items/2", 1L, server(HttpStatus.OK));
+
+        assertThat(serverCalls).hasValue(5);
+    }
+
+    @Test
+    void invalidatePrefix_thenPathsUnderPrefixReloadAndOtherPathsKept() {
+        ResponseCache cache = new ResponseCache(properties);
+        cache.get("/items/1", 1L, server(HttpStatus.OK));
+        cache.get("/items/2", 2L, server(HttpStatus.OK));
+        cache.get("/users/1", null, server(HttpStatus.OK));
+
+        cache.invalidatePrefix("/items/");
+        cache.get("/items/1", 1L, server(HttpStatus.OK));
+        cache.get("/items/2", 2L, server(HttpStatus.OK));
+        cache.get("/users/1", null, server(HttpStatus.OK));
+
+        assertThat(serverCalls).hasValue(5);
+    }
+
+    @Test
+    void get_whenInvalidatedWhileLoading_thenLoadedResponseNotCached() {
+        ResponseCache cache = new ResponseCache(properties);
+
+        cache.get("/items/1", 1L, () -> {
+            cache.invalidate("/items/1");
+            return server(HttpStatus.OK).get();
+        });
+        cache.get("/items/1", 1L, server(HttpStatus.OK));
+
+        assertThat(serverCalls).hasValue(2);
+    }
+
+    @Test
+    void get_whenCachedEtagMatchesIfNoneMatch_thenNotModifiedWithoutServerCall() {
+        ResponseCache cache = new ResponseCache(properties);
+        cache.get("/items/1", 1L, server(HttpStatus.OK));
+        MockHttpServletRequest clientRequest = new MockHttpServletRequest();
+        clientRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"0other\", " + ETAG);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(clientRequest));
+
+        try {
+            ResponseEntity<Object> response = cache.get("/items/1", 1L, server(HttpStatus.OK));
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getHeaders().getETag()).isEqualTo(ETAG);
+            assertThat(response.hasBody()).isFalse();
+            assertThat(serverCalls).hasValue(1);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void get_whenTtlExpired_thenServerCalledAgain() throws InterruptedException {
+        properties.setTtl(Duration.ofMillis(50));
+        ResponseCache cache = new ResponseCache(properties);
+
+        cache.get("/users/1", null, server(HttpStatus.OK));
+        Thread.sleep(100);
+        cache.get("/users/1", null, server(HttpStatus.OK));
+
+        assertThat(serverCalls).hasValue(2);
+    }
+
+    @Test
+    void metrics_whenBound_thenHitsMissesAndEvictionsReported() {
+        properties.setMaximumSize(1);
+        ResponseCache cache = new ResponseCache(properties);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new ResponseCacheConfig().responseCacheMetrics(cache).bindTo(registry);
+
+        cache.get("/users/1", null, server(HttpStatus.OK));
+        cache.get("/users/1", null, server(HttpStatus.OK));
+        cache.get("/users/2", null, server(HttpStatus.OK));
+        cache.getNativeCache().cleanUp();
+
+        assertThat(registry.get("cache.gets").tag("cache", ResponseCacheConfig.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(2.0);
+        assertThat(registry.get("cache.evictions").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private Supplier<ResponseEntity<Object>> server(HttpStatus status) {
+        return () -> {
+            serverCalls.incrementAndGet();
+            return ResponseEntity.status(status).eTag(ETAG).body(new byte[]{'{', '}'});
+        };
+    }
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServerCallGuardTest {
+
+    private static final Duration OPEN_STATE_DURATION = Duration.ofMillis(100);
+
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+    private ServerCallGuard guard;
+    private AtomicInteger serverCalls;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = CircuitBreaker.of("items", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(OPEN_STATE_DURATION)
+                .permittedNumberOfCallsInHalfOpenState(2)
+                .build());
+        bulkhead = Bulkhead.of("items", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        guard = new ServerCallGuard(circuitBreaker, bulkhead);
+        serverCalls = new AtomicInteger();
+    }
+
+    @Test
+    void call_whenServerRespondsWithServerError_thenResponseReturnedAndFailureRecorded() {
+        ResponseEntity<Object> response = guard.call(server(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void call_whenClientErrors_thenNotCountedAsFailures() {
+        for (int i = 0; i < 4; i++) {
+            guard.call(server(HttpStatus.NOT_FOUND));
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void call_whenFailureRateExceeded_thenCircuitOpensAndFailsFastWithoutServerCall() {
+        for (int i = 0; i < 4; i++) {
+            guard.call(server(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> guard.call(server(HttpStatus.OK)))
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(serverCalls).hasValue(4);
+    }
+
+    @Test
+    void call_whenOpenStateElapsedAndProbesSucceed_thenCircuitCloses() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            guard.call(server(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        Thread.sleep(OPEN_STATE_DURATION.toMillis() * 2);
+
+        guard.call(server(HttpStatus.OK));
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        guard.call(server(HttpStatus.OK));
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void call_whenBulkheadFull_thenRejectedWithoutServerCall() throws Exception {
+        CountDownLatch serverResponds = new CountDownLatch(1);
+        CountDownLatch serverCalled = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResponseEntity<Object>> slowCall = executor.submit(() -> guard.call(() -> {
+                serverCalled.countDown();
+                try {
+                    serverResponds.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return ResponseEntity.ok().build();
+            }));
+            assertThat(serverCalled.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> guard.call(server(HttpStatus.OK)))
+                    .isInstanceOf(BulkheadFullException.class);
+            serverResponds.countDown();
+            assertThat(slowCall.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(serverCalls).hasValue(0);
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void callMono_whenServerRespondsWithServerError_thenResponseReturnedAndFailureRecorded() {
+        ResponseEntity<Object> response = guard.call(Mono.fromSupplier(server(HttpStatus.INTERNAL_SERVER_ERROR)))
+                .block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void callMono_whenFailureRateExceeded_thenCircuitOpensAndFailsFastWithoutServerCall() {
+        for (int i = 0; i < 4; i++) {
+            guard.call(Mono.fromSupplier(server(HttpStatus.SERVICE_UNAVAILABLE))).block();
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> guard.call(Mono.fromSupplier(server(HttpStatus.OK))).block())
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(serverCalls).hasValue(4);
+    }
+
+    @Test
+    void callMono_whenBulkheadFull_thenRejectedWithoutServerCall() {
+        Sinks.One<ResponseEntity<Object>> slowServer = Sinks.one();
+        Mono<ResponseEntity<Object>> slowCall = guard.call(slowServer.asMono()).cache();
+        slowCall.subscribe();
+
+        assertThatThrownBy(() -> guard.call(Mono.fromSupplier(server(HttpStatus.OK))).block())
+                .isInstanceOf(BulkheadFullException.class);
+        slowServer.tryEmitValue(ResponseEntity.ok().build());
+        assertThat(slowCall.block().getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(serverCalls).hasValue(0);
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    private Supplier<ResponseEntity<Object>> server(HttpStatus status) {
+        return () -> {
+            serverCalls.incrementAndGet();
+            return ResponseEntity.status(status).build();
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit-server.url=http://localhost:9090")
+class ServerCallGuardsTest {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ServerCallGuards guards;
+
+    @Autowired
+    private ClientHttpRequestFactory shareItServerRequestFactory;
+
+    @Test
+    void clients_whenContextStarted_thenCircuitBreakerAndBulkheadMetricsPerClient() {
+        for (String client : new String[]{"items", "bookings", "users", "requests"}) {
+            assertThat(registry.find("resilience4j.circuitbreaker.state")
+                    .tag("name", client)
+                    .tag("state", "closed")
+                    .gauge().value()).isEqualTo(1.0);
+            assertThat(registry.find("resilience4j.bulkhead.available.concurrent.calls")
+                    .tag("name", client)
+                    .gauge().value()).isEqualTo(50.0);
+        }
+    }
+
+    @Test
+    void requestFactory_whenClientReadTimeoutConfigured_thenSeparateFactoryUsed() {
+        assertThat(guards.requestFactory("items")).isNotSameAs(shareItServerRequestFactory);
+        assertThat(guards.requestFactory("bookings")).isSameAs(shareItServerRequestFactory);
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Шлюз перед сервером-заглушкой: владелец смотрит вещь, её бронируют и бронирование подтверждают.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ItemCacheInvalidationTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final long BOOKER_ID = 2L;
+    private static final String ITEM = "{\"id\":1,\"name\":\"item\",\"description\":\"description\",\"available\":true,"
+            + "\"lastBooking\":null,\"nextBooking\":%s,\"requestId\":null,\"comments\":[]}";
+
+    private static final AtomicBoolean approved = new AtomicBoolean();
+    private static final AtomicInteger itemCalls = new AtomicInteger();
+    private static HttpServer server;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items/1", exchange -> {
+            itemCalls.incrementAndGet();
+            respond(exchange, 200, String.format(ITEM,
+                    approved.get() ? "{\"id\":5,\"bookerId\":" + BOOKER_ID + "}" : "null"));
+        });
+        server.createContext("/bookings", exchange -> {
+            if (exchange.getRequestMethod().equals("PATCH")) {
+                approved.set(true);
+                respond(exchange, 200, "{\"id\":5,\"status\":\"APPROVED\",\"item\":{\"id\":1}}");
+            } else {
+                respond(exchange, 201, "{\"id\":5,\"status\":\"WAITING\",\"item\":{\"id\":1}}");
+            }
+        });
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @Test
+    void getItem_whenOwnerViewedItemThenBookingApproved_thenNextBookingShownAndNotCached() {
+        assertThat(getItem().path("nextBooking").isNull()).isTrue();
+        assertThat(getItem().path("nextBooking").isNull()).isTrue();
+        assertThat(itemCalls).hasValue(1);
+
+        ResponseEntity<String> booked = rest.exchange("/bookings", HttpMethod.POST,
+                new HttpEntity<>(Map.of("itemId", 1, "start", "2030-01-01T10:00:00", "end", "2030-01-02T10:00:00"),
+                        headers(BOOKER_ID)), String.class);
+        assertThat(booked.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        ResponseEntity<String> approval = rest.exchange("/bookings/5?approved=true", HttpMethod.PATCH,
+                new HttpEntity<>(headers(OWNER_ID)), String.class);
+        assertThat(approval.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(getItem().path("nextBooking").path("id").asLong()).isEqualTo(5);
+        getItem();
+        assertThat(itemCalls).hasValue(3);
+    }
+
+    private JsonNode getItem() {
+        ResponseEntity<JsonNode> response = rest.exchange("/items/1", HttpMethod.GET,
+                new HttpEntity<>(headers(OWNER_ID)), JsonNode.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private static HttpHeaders headers(long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return headers;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
@@ -7,7 +7,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.nio.charset.StandardCharsets;
@@ -17,8 +19,7 @@ import java.util.List;
 
 import static java.lang.Boolean.TRUE;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -118,4 +119,57 @@ class ItemControllerTest {
 
         verify(itemClient, never()).create(anyLong(), any(ItemDto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void createAll_whenAllItemsValid_thenItemsPassedToServer() throws Exception {
+        List<ItemDto> createDtos = List.of(itemCreateDto, itemCreateDto.toBuilder().name("other").build());
+        when(itemClient.createAll(1L, createDtos))
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED).build());
+
+        mvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(createDtos))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        verify(itemClient).createAll(1L, createDtos);
+    }
+
+    @Test
+    void createAll_whenOneItemInvalid_thenStatusIsBadRequest() throws Exception {
+        List<ItemDto> createDtos = List.of(itemCreateDto, itemCreateDto.toBuilder().name(" ").build());
+
+        mvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(createDtos))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).createAll(anyLong(), anyList());
+    }
+
+    @Test
+    void createAll_whenListIsEmptyOrTooLarge_thenStatusIsBadRequest() throws Exception {
+        mvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .content("[]")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(Collections.nCopies(BaseItemController.BATCH_MAX_SIZE + 1,
+                                itemCreateDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).createAll(anyLong(), anyList());
+    }
+}
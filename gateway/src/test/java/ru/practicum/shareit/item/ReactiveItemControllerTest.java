@@ -0,0 +1,152 @@
+package ru.practicum.shareit.item;
+
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+
+import static java.lang.Boolean.TRUE;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(controllers = ReactiveItemController.class)
+class ReactiveItemControllerTest {
+
+    @MockBean
+    private ReactiveItemClient itemClient;
+
+    @Autowired
+    private WebTestClient client;
+
+    private ItemDto itemCreateDto;
+
+    @BeforeEach
+    void setUp() {
+        itemCreateDto = ItemDto.builder()
+                .name("name")
+                .description("description")
+                .available(TRUE)
+                .build();
+    }
+
+    @AfterEach
+    void clean() {
+        itemCreateDto = null;
+    }
+
+    @Test
+    void getByOwner_whenRequestParamFromFalse_thenBadRequest() {
+        client.get().uri("/items?from=-1&size=10")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(itemClient, never()).getAllByUser(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getItem_whenServerResponseTimedOut_thenGatewayTimeout() {
+        when(itemClient.getItem(1L, 1L)).thenReturn(Mono.error(serverRequestFailed(ReadTimeoutException.INSTANCE)));
+
+        client.get().uri("/items/1")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @Test
+    void getItem_whenServerRefusedConnection_thenServiceUnavailable() {
+        when(itemClient.getItem(1L, 1L))
+                .thenReturn(Mono.error(serverRequestFailed(new ConnectException("Connection refused"))));
+
+        client.get().uri("/items/1")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void create_whenItemIsNotValid_thenStatusIsBadRequest() {
+        itemCreateDto.setName("");
+
+        client.post().uri("/items")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(itemCreateDto)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(itemClient, never()).create(anyLong(), any(ItemDto.class));
+    }
+
+    @Test
+    void update_whenOnlyAvailableChanged_thenItemPassedToServer() {
+        ItemDto updateDto = ItemDto.builder().available(false).build();
+        when(itemClient.update(1L, 1L, updateDto))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        client.patch().uri("/items/1")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateDto)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(itemClient).update(1L, 1L, updateDto);
+    }
+
+    @Test
+    void createAll_whenAllItemsValid_thenItemsPassedToServer() {
+        List<ItemDto> createDtos = List.of(itemCreateDto, itemCreateDto.toBuilder().name("other").build());
+        when(itemClient.createAll(1L, createDtos))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.CREATED).build()));
+
+        client.post().uri("/items/batch")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createDtos)
+                .exchange()
+                .expectStatus().isCreated();
+
+        verify(itemClient).createAll(1L, createDtos);
+    }
+
+    @Test
+    void createAll_whenOneItemInvalidOrListTooLarge_thenStatusIsBadRequest() {
+        client.post().uri("/items/batch")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(itemCreateDto, itemCreateDto.toBuilder().name(" ").build()))
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.post().uri("/items/batch")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Collections.nCopies(BaseItemController.BATCH_MAX_SIZE + 1, itemCreateDto))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(itemClient, never()).createAll(anyLong(), anyList());
+    }
+
+    private static WebClientRequestException serverRequestFailed(Throwable cause) {
+        return new WebClientRequestException(cause, HttpMethod.GET, URI.create("http://localhost:9090/items/1"),
+                new HttpHeaders());
+    }
+}
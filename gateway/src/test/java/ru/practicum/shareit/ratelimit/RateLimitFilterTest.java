@@ -0,0 +1,62 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("default", RateLimiterTest.limit(List.of("/**"), 1, 0.5));
+        filter = new RateLimitFilter(new RateLimiter(properties), new ObjectMapper());
+    }
+
+    @Test
+    void doFilter_whenLimitExceeded_thenTooManyRequestsWithRetryAfter() throws Exception {
+        MockHttpServletResponse first = send("1");
+        MockHttpServletResponse second = send("1");
+
+        assertThat(first.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(second.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(second.getHeader(HttpHeaders.RETRY_AFTER)).isIn("1", "2");
+        assertThat(second.getContentAsString()).contains("Слишком много запросов");
+    }
+
+    @Test
+    void doFilter_whenUserHeaderMissingOrInvalid_thenNotLimited() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(send(null).getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(send("abc").getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+    }
+
+    @Test
+    void retryAfterSeconds_whenWaitNotWholeSeconds_thenRoundedUp() {
+        assertThat(RateLimitFilter.retryAfterSeconds(1)).isEqualTo(1);
+        assertThat(RateLimitFilter.retryAfterSeconds(1_000_000_000L)).isEqualTo(1);
+        assertThat(RateLimitFilter.retryAfterSeconds(1_000_000_001L)).isEqualTo(2);
+    }
+
+    private MockHttpServletResponse send(String userId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        if (userId != null) {
+            request.addHeader(RateLimitFilter.USER_ID_HEADER, userId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Накладные расходы ограничителя на один запрос: поиск группы по пути, корзина из кэша и CAS.
+ * Число операций на поток задаётся свойством {@code benchmark.operations}.
+ */
+@Slf4j
+@Tag("benchmark")
+class RateLimiterBenchmarkTest {
+
+    private static final int USERS = 1000;
+    private static final long MAX_NANOS_PER_REQUEST = 50_000;
+
+    private final RateLimiter rateLimiter = new RateLimiter(properties());
+
+    @Test
+    void tryAcquire_whenSingleThread_thenOverheadNegligible() {
+        measure(operations());
+        long nanosPerRequest = measure(operations());
+
+        log.info("Ограничитель, 1 поток: {} нс на запрос", nanosPerRequest);
+        assertThat(nanosPerRequest).isLessThan(MAX_NANOS_PER_REQUEST);
+    }
+
+    @Test
+    void tryAcquire_whenManyThreadsShareBuckets_thenOverheadNegligible() throws Exception {
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            measureConcurrently(executor, threads);
+            long nanosPerRequest = measureConcurrently(executor, threads);
+
+            log.info("Ограничитель, {} потока: {} нс на запрос", threads, nanosPerRequest);
+            assertThat(nanosPerRequest).isLessThan(MAX_NANOS_PER_REQUEST);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long measureConcurrently(ExecutorService executor, int threads) throws Exception {
+        List<CompletableFuture<Long>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(CompletableFuture.supplyAsync(() -> measure(operations()), executor));
+        }
+        long total = 0;
+        for (CompletableFuture<Long> result : results) {
+            total += result.get();
+        }
+        return total / threads;
+    }
+
+    private long measure(int operations) {
+        String[] paths = {"/items/1", "/items/search", "/bookings/owner", "/requests/all"};
+        long permitted = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            if (rateLimiter.tryAcquire(i % USERS, paths[i & 3]) == 0) {
+                permitted++;
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        assertThat(permitted).isPositive();
+        return elapsed / operations;
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("search", RateLimiterTest.limit(List.of("/items/search"), 20, 5));
+        properties.getGroups().put("default", RateLimiterTest.limit(List.of("/**"), 100, 50));
+        return properties;
+    }
+
+    private static int operations() {
+        return Integer.getInteger("benchmark.operations", 200_000);
+    }
+}
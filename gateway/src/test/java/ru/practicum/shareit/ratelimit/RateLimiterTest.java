@@ -0,0 +1,103 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("search", limit(List.of("/items/search"), 2, 1));
+        properties.getGroups().put("default", limit(List.of("/**"), 3, 10));
+        rateLimiter = new RateLimiter(properties);
+    }
+
+    @Test
+    void tryAcquire_whenBurstExhausted_thenRejectedUntilTokenRefilled() {
+        assertThat(rateLimiter.tryAcquire(1L, "/items/search", 0)).isZero();
+        assertThat(rateLimiter.tryAcquire(1L, "/items/search", 0)).isZero();
+
+        assertThat(rateLimiter.tryAcquire(1L, "/items/search", 0)).isEqualTo(SECOND);
+        assertThat(rateLimiter.tryAcquire(1L, "/items/search", SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(rateLimiter.tryAcquire(1L, "/items/search", SECOND)).isZero();
+        assertThat(rateLimiter.getRejected().get("search").sum()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAcquire_whenIdleLongerThanRefill_thenBurstNotAccumulatedBeyondCapacity() {
+        rateLimiter.tryAcquire(1L, "/items/search", 0);
+
+        assertThat(rateLimiter.tryAcquire(1L, "/items/search", 100 * SECOND)).isZero();
+        assertThat(rateLimiter.tryAcquire(1L, "/items/search", 100 * SECOND)).isZero();
+        assertThat(rateLimiter.tryAcquire(1L, "/items/search", 100 * SECOND)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_whenOtherUserOrGroup_thenSeparateBucket() {
+        rateLimiter.tryAcquire(1L, "/items/search", 0);
+        rateLimiter.tryAcquire(1L, "/items/search", 0);
+
+        assertThat(rateLimiter.tryAcquire(1L, "/items/search", 0)).isPositive();
+        assertThat(rateLimiter.tryAcquire(2L, "/items/search", 0)).isZero();
+        assertThat(rateLimiter.tryAcquire(1L, "/items/1", 0)).isZero();
+        assertThat(rateLimiter.getRejected().get("default").sum()).isZero();
+    }
+
+    @Test
+    void tryAcquire_whenPathMatchesNoGroup_thenNotLimited() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("search", limit(List.of("/items/search"), 1, 1));
+        RateLimiter searchOnly = new RateLimiter(properties);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(searchOnly.tryAcquire(1L, "/bookings", 0)).isZero();
+        }
+    }
+
+    @Test
+    void tryAcquire_whenConcurrentRequests_thenExactlyCapacityPermitted() throws InterruptedException {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("default", limit(List.of("/**"), 100, 0.001));
+        RateLimiter limiter = new RateLimiter(properties);
+        int threads = 8;
+        int[] permitted = new int[threads];
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire(1L, "/items", 0) == 0) {
+                        permitted[index]++;
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        int total = 0;
+        for (int t = 0; t < threads; t++) {
+            workers[t].join();
+            total += permitted[t];
+        }
+
+        assertThat(total).isEqualTo(100);
+    }
+
+    static RateLimitProperties.Limit limit(List<String> paths, int capacity, double permitsPerSecond) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setPaths(paths);
+        limit.setCapacity(capacity);
+        limit.setPermitsPerSecond(permitsPerSecond);
+        return limit;
+    }
+}
@@ -0,0 +1,40 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class V4__Create_id_sequences extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> ID_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        ID_COLUMNS.put("USERS", "USER_ID");
+        ID_COLUMNS.put("REQUESTS", "REQUEST_ID");
+        ID_COLUMNS.put("ITEMS", "ITEM_ID");
+        ID_COLUMNS.put("BOOKINGS", "BOOKING_ID");
+        ID_COLUMNS.put("COMMENTS", "COMMENT_ID");
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (Map.Entry<String, String> table : ID_COLUMNS.entrySet()) {
+                long maxId;
+                try (ResultSet resultSet = statement.executeQuery(
+                        "SELECT COALESCE(MAX(" + table.getValue() + "), 0) FROM " + table.getKey())) {
+                    resultSet.next();
+                    maxId = resultSet.getLong(1);
+                }
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS " + table.getKey() + "_ID_SEQ"
+                        + " START WITH " + (maxId + ALLOCATION_SIZE) + " INCREMENT BY " + ALLOCATION_SIZE);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * Строгий ETag по хешу тела ответа для опрашиваемых клиентами списков: на {@code If-None-Match}
+ * с совпавшим значением отвечает 304 без тела.
+ */
+@Component
+public class EtagFilter extends ShallowEtagHeaderFilter {
+    private static final List<String> PATHS = List.of("/items", "/bookings", "/requests");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return PATHS.stream().noneMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
+    }
+}
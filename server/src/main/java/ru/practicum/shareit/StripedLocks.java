@@ -0,0 +1,28 @@
+package ru.practicum.shareit;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Фиксированный набор блокировок, между которыми распределяются id: записи одной сущности упорядочены,
+ * записи разных сущностей почти всегда идут параллельно.
+ */
+public class StripedLocks {
+
+    private final Lock[] locks;
+
+    public StripedLocks(int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Число блокировок должно быть степенью двойки: " + stripes);
+        }
+        locks = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock lockFor(long id) {
+        int hash = Long.hashCode(id);
+        return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+    }
+}
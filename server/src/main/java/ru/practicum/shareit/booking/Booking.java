@@ -16,19 +16,22 @@ import java.time.LocalDateTime;
 @Table(name = "BOOKINGS", schema = "PUBLIC")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "BOOKINGS_ID_SEQ", schema = "PUBLIC", allocationSize = 50)
     @Column(name = "BOOKING_ID")
     private Long id;
     @Column(name = "START_TIME")
     private LocalDateTime startTime;
     @Column(name = "END_TIME")
     private LocalDateTime endTime;
-    @ManyToOne
+    @ManyToOne(optional = false)
     @JoinColumn(name = "ITEM_ID")
     private Item item;
-    @ManyToOne
+    @ManyToOne(optional = false)
     @JoinColumn(name = "USER_ID")
     private User booker;
+    @Column(name = "OWNER_ID")
+    private Long ownerId;
     @Column(name = "STATUS")
     @Enumerated(EnumType.STRING)
     private Status status;
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.StripedLocks;
+import ru.practicum.shareit.booking.dto.BookingShort;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingAvailabilityIndex {
+
+    static final List<Status> OCCUPYING_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+    private static final int LOCK_STRIPES = 256;
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, NavigableMap<Slot, LocalDateTime>> itemSlots = new ConcurrentHashMap<>();
+    private final StripedLocks locks = new StripedLocks(LOCK_STRIPES);
+
+    @PostConstruct
+    public void rebuild() {
+        List<BookingShort> bookings = bookingRepository.findAllShortByStatusInAndEndTimeAfter(OCCUPYING_STATUSES,
+                LocalDateTime.now());
+        itemSlots.clear();
+        for (BookingShort booking : bookings) {
+            reserve(booking.getItemId(), booking.getId(), booking.getStartTime(), booking.getEndTime());
+        }
+        log.info("Индекс занятости вещей построен, загружено бронирований: {}", bookings.size());
+    }
+
+    public Booking admit(long itemId, LocalDateTime start, LocalDateTime end, Supplier<Booking> save) {
+        Lock lock = locks.lockFor(itemId);
+        lock.lock();
+        try {
+            if (!isAvailable(itemId, start, end)) {
+                throw new IllegalArgumentException("Предмет с id: " + itemId + " уже забронирован на это время");
+            }
+            Booking booking = save.get();
+            reserve(itemId, booking.getId(), start, end);
+            return booking;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isAvailable(long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<Slot, LocalDateTime> slots = itemSlots.get(itemId);
+        if (slots == null) {
+            return true;
+        }
+        synchronized (slots) {
+            // слоты из БД могут пересекаться, поэтому ближайшего слота до начала недостаточно:
+            // проверяются все слоты, начинающиеся раньше конца периода
+            for (LocalDateTime slotEnd : slots.headMap(new Slot(end, Long.MIN_VALUE), false)
+                    .descendingMap().values()) {
+                if (slotEnd.isAfter(start)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public void reserve(long itemId, long bookingId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<Slot, LocalDateTime> slots = itemSlots.computeIfAbsent(itemId, id -> new TreeMap<>());
+        synchronized (slots) {
+            slots.put(new Slot(start, bookingId), end);
+            evictFinished(slots, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Слот ищется по id бронирования, а не по началу: время из БД может быть округлено
+     * относительно того, с которым слот был занят.
+     */
+    public void release(long itemId, long bookingId) {
+        NavigableMap<Slot, LocalDateTime> slots = itemSlots.get(itemId);
+        if (slots == null) {
+            return;
+        }
+        synchronized (slots) {
+            slots.keySet().removeIf(slot -> slot.bookingId == bookingId);
+        }
+    }
+
+    /**
+     * Занимающие слоты бронирования арендатора. Их нужно прочитать до удаления пользователя:
+     * БД удалит их каскадом, и освободить слоты по ним будет уже нельзя.
+     */
+    public List<BookingShort> findReservedByBooker(long bookerId) {
+        return bookingRepository.findAllShortByBookerIdAndStatusInAndEndTimeAfter(bookerId, OCCUPYING_STATUSES,
+                LocalDateTime.now());
+    }
+
+    public void release(BookingShort booking) {
+        release(booking.getItemId(), booking.getId());
+    }
+
+    public void removeItem(long itemId) {
+        itemSlots.remove(itemId);
+    }
+
+    private void evictFinished(NavigableMap<Slot, LocalDateTime> slots, LocalDateTime now) {
+        Iterator<LocalDateTime> ends = slots.values().iterator();
+        while (ends.hasNext() && ends.next().isBefore(now)) {
+            ends.remove();
+        }
+    }
+
+    @EqualsAndHashCode
+    private static final class Slot implements Comparable<Slot> {
+        private final LocalDateTime start;
+        private final long bookingId;
+
+        private Slot(LocalDateTime start, long bookingId) {
+            this.start = start;
+            this.bookingId = bookingId;
+        }
+
+        @Override
+        public int compareTo(Slot other) {
+            int byStart = start.compareTo(other.start);
+            return byStart != 0 ? byStart : Long.compare(bookingId, other.bookingId);
+        }
+    }
+}
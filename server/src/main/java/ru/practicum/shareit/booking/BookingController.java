@@ -6,17 +6,22 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
-import java.util.Collection;
+import java.util.List;
 
 @RestController
 @Slf4j
 @RequestMapping(path = "/bookings")
 public class BookingController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final Sort BOOKINGS_ORDER = Sort.by(Sort.Order.desc("startTime"), Sort.Order.desc("id"));
+
     private final BookingService bookingService;
 
     @Autowired
@@ -54,32 +59,64 @@ public class BookingController {
     }
 
     @GetMapping
-    public Collection<BookingDto> getAllByUserQuery(
+    public ResponseEntity<List<BookingDto>> getAllByUserQuery(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam String state,
-            @RequestParam(value = "from") int offset,
-            @RequestParam(value = "size") int limit) {
+            @RequestParam(value = "from", required = false) Integer offset,
+            @RequestParam(value = "size") int limit,
+            @RequestParam(value = "cursor", required = false) String cursor) {
         log.info("Поступил GET-запрос в /bookings");
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        Pageable pageable = PageRequest.of(offset / limit, limit, Sort.by(Sort.Direction.DESC, "startTime"));
-        Collection<BookingDto> searchedBookings = bookingService.getAllByUserQuery(userId, bookingState, pageable);
+        List<BookingDto> searchedBookings;
+        if (cursor != null) {
+            requireNoOffset(offset);
+            BookingCursor after = cursor.isEmpty() ? null : BookingCursor.decode(cursor);
+            searchedBookings = bookingService.getAllByUserQuery(userId, bookingState, after, limit);
+        } else {
+            Pageable pageable = PageRequest.of(offset != null ? offset / limit : 0, limit, BOOKINGS_ORDER);
+            searchedBookings = bookingService.getAllByUserQuery(userId, bookingState, pageable);
+        }
         log.info("GET-запрос /bookings был обработан: {}", searchedBookings);
-        return searchedBookings;
+        return withNextCursor(searchedBookings, limit);
     }
 
     @GetMapping("/owner")
-    public Collection<BookingDto> getAllByOwnerQuery(
+    public ResponseEntity<List<BookingDto>> getAllByOwnerQuery(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam String state,
-            @RequestParam(value = "from") int offset,
-            @RequestParam(value = "size") int limit) {
+            @RequestParam(value = "from", required = false) Integer offset,
+            @RequestParam(value = "size") int limit,
+            @RequestParam(value = "cursor", required = false) String cursor) {
         log.info("Поступил GET-запрос в /bookings/owner");
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        Pageable pageable = PageRequest.of(offset / limit, limit, Sort.by(Sort.Direction.DESC, "startTime"));
-        Collection<BookingDto> searchedBookings = bookingService.getAllByOwnerQuery(userId, bookingState, pageable);
+        List<BookingDto> searchedBookings;
+        if (cursor != null) {
+            requireNoOffset(offset);
+            BookingCursor after = cursor.isEmpty() ? null : BookingCursor.decode(cursor);
+            searchedBookings = bookingService.getAllByOwnerQuery(userId, bookingState, after, limit);
+        } else {
+            Pageable pageable = PageRequest.of(offset != null ? offset / limit : 0, limit, BOOKINGS_ORDER);
+            searchedBookings = bookingService.getAllByOwnerQuery(userId, bookingState, pageable);
+        }
         log.info("GET-запрос /bookings/owner был обработан: {}", searchedBookings);
-        return searchedBookings;
+        return withNextCursor(searchedBookings, limit);
+    }
+
+    private static void requireNoOffset(Integer offset) {
+        if (offset != null) {
+            throw new IllegalArgumentException("Параметры from и cursor нельзя передавать вместе");
+        }
+    }
+
+    private static ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int limit) {
+        if (bookings.size() < limit) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingDto last = bookings.get(bookings.size() - 1);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, new BookingCursor(last.getStart(), last.getId()).encode())
+                .body(bookings);
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,8 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.User;
@@ -18,6 +20,10 @@ public class BookingMapper {
         return new BookingInfoDto(booking.getId(), booking.getBooker().getId(), booking.getStartTime(), booking.getEndTime());
     }
 
+    public static BookingInfoDto toBookingInfoDto(BookingShort booking) {
+        return new BookingInfoDto(booking.getId(), booking.getBookerId(), booking.getStartTime(), booking.getEndTime());
+    }
+
     public BookingDto toDto(Booking booking) {
         UserDto userDto = new UserDto(booking.getBooker().getId(),
                 booking.getBooker().getName(), booking.getBooker().getEmail());
@@ -29,6 +35,14 @@ public class BookingMapper {
         return new BookingDto(booking.getId(), booking.getStartTime(), booking.getEndTime(), booking.getStatus(), userDto, itemDto);
     }
 
+    public BookingDto toDto(BookingView booking) {
+        UserDto userDto = new UserDto(booking.getBookerId(), booking.getBookerName(), booking.getBookerEmail());
+        ItemDto itemDto = new ItemDto(booking.getItemId(), booking.getItemName(), booking.getItemDescription(),
+                booking.getItemAvailable(), null, null, booking.getItemRequestId(), new ArrayList<>());
+        return new BookingDto(booking.getId(), booking.getStartTime(), booking.getEndTime(), booking.getStatus(),
+                userDto, itemDto);
+    }
+
     public Booking toModel(BookingCreateDto bookingCreateDto, Status status,
                            Item item, User user) {
         return new Booking().toBuilder()
@@ -37,6 +51,7 @@ public class BookingMapper {
                 .status(status)
                 .booker(user)
                 .item(item)
+                .ownerId(item.getOwner().getId())
                 .build();
     }
 }
@@ -3,7 +3,11 @@ package ru.practicum.shareit.booking;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingView;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -11,35 +15,92 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    List<Booking> findAllByItemIdIn(List<Long> itemIds);
-
-    List<Booking> findAllByBookerId(long userId, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartTimeBeforeAndEndTimeAfter(long userId, LocalDateTime now,
-                                                                     LocalDateTime localDateTime, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartTimeAfter(long userId, LocalDateTime now, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndEndTimeBefore(long userId, LocalDateTime now, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStatus(long userId, Status status, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerId(long userId, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartTimeBeforeAndEndTimeAfter(long userId, LocalDateTime start,
-                                                                        LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartTimeAfter(long userId, LocalDateTime now, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndEndTimeBefore(long userId, LocalDateTime now, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStatus(long userId, Status status, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingSeekRepository {
+
+    String SELECT_VIEW = "select new ru.practicum.shareit.booking.dto.BookingView(b.id, b.startTime, b.endTime, " +
+            "b.status, u.id, u.name, u.email, i.id, i.name, i.description, i.available, i.request.id) " +
+            "from Booking b join b.booker u join b.item i ";
+
+    @Query(value = "select b.BOOKING_ID as \"id\", b.ITEM_ID as \"itemId\", b.USER_ID as \"bookerId\", " +
+            "b.START_TIME as \"startTime\", b.END_TIME as \"endTime\" " +
+            "from (select bk.*, row_number() over (partition by bk.ITEM_ID " +
+            "order by bk.END_TIME desc, bk.BOOKING_ID desc) as RN " +
+            "from BOOKINGS bk " +
+            "where bk.ITEM_ID in (:itemIds) and bk.STATUS = 'APPROVED' and bk.START_TIME < :now) b " +
+            "where b.RN = 1", nativeQuery = true)
+    List<BookingShort> findLastApprovedByItemIdIn(@Param("itemIds") List<Long> itemIds,
+                                                  @Param("now") LocalDateTime now);
+
+    @Query(value = "select b.BOOKING_ID as \"id\", b.ITEM_ID as \"itemId\", b.USER_ID as \"bookerId\", " +
+            "b.START_TIME as \"startTime\", b.END_TIME as \"endTime\" " +
+            "from (select bk.*, row_number() over (partition by bk.ITEM_ID " +
+            "order by bk.START_TIME asc, bk.BOOKING_ID asc) as RN " +
+            "from BOOKINGS bk " +
+            "where bk.ITEM_ID in (:itemIds) and bk.STATUS = 'APPROVED' and bk.START_TIME > :now) b " +
+            "where b.RN = 1", nativeQuery = true)
+    List<BookingShort> findNextApprovedByItemIdIn(@Param("itemIds") List<Long> itemIds,
+                                                  @Param("now") LocalDateTime now);
+
+    @Query(SELECT_VIEW + "where b.booker.id = :userId")
+    List<BookingView> findAllByBookerId(@Param("userId") long userId, Pageable pageable);
+
+    @Query(SELECT_VIEW + "where b.booker.id = :userId and b.startTime < :start and b.endTime > :end")
+    List<BookingView> findAllByBookerIdAndStartTimeBeforeAndEndTimeAfter(@Param("userId") long userId,
+                                                                         @Param("start") LocalDateTime start,
+                                                                         @Param("end") LocalDateTime end,
+                                                                         Pageable pageable);
+
+    @Query(SELECT_VIEW + "where b.booker.id = :userId and b.startTime > :now")
+    List<BookingView> findAllByBookerIdAndStartTimeAfter(@Param("userId") long userId,
+                                                         @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(SELECT_VIEW + "where b.booker.id = :userId and b.endTime < :now")
+    List<BookingView> findAllByBookerIdAndEndTimeBefore(@Param("userId") long userId,
+                                                        @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(SELECT_VIEW + "where b.booker.id = :userId and b.status = :status")
+    List<BookingView> findAllByBookerIdAndStatus(@Param("userId") long userId, @Param("status") Status status,
+                                                 Pageable pageable);
+
+    @Query(SELECT_VIEW + "where b.ownerId = :userId")
+    List<BookingView> findAllByOwnerId(@Param("userId") long userId, Pageable pageable);
+
+    @Query(SELECT_VIEW + "where b.ownerId = :userId and b.startTime < :start and b.endTime > :end")
+    List<BookingView> findAllByOwnerIdAndStartTimeBeforeAndEndTimeAfter(@Param("userId") long userId,
+                                                                        @Param("start") LocalDateTime start,
+                                                                        @Param("end") LocalDateTime end,
+                                                                        Pageable pageable);
+
+    @Query(SELECT_VIEW + "where b.ownerId = :userId and b.startTime > :now")
+    List<BookingView> findAllByOwnerIdAndStartTimeAfter(@Param("userId") long userId,
+                                                        @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(SELECT_VIEW + "where b.ownerId = :userId and b.endTime < :now")
+    List<BookingView> findAllByOwnerIdAndEndTimeBefore(@Param("userId") long userId,
+                                                       @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(SELECT_VIEW + "where b.ownerId = :userId and b.status = :status")
+    List<BookingView> findAllByOwnerIdAndStatus(@Param("userId") long userId, @Param("status") Status status,
+                                                Pageable pageable);
 
     Collection<Booking> findAllByBookerIdAndItemIdAndStatusIsAndEndTimeBefore(
             Long userId, Long itemId, Status status, LocalDateTime now);
 
+    @Query("select b.id as id, b.item.id as itemId, b.booker.id as bookerId, " +
+            "b.startTime as startTime, b.endTime as endTime " +
+            "from Booking b " +
+            "where b.status in :statuses and b.endTime > :time")
+    List<BookingShort> findAllShortByStatusInAndEndTimeAfter(@Param("statuses") Collection<Status> statuses,
+                                                             @Param("time") LocalDateTime time);
+
+    @Query("select b.id as id, b.item.id as itemId, b.booker.id as bookerId, " +
+            "b.startTime as startTime, b.endTime as endTime " +
+            "from Booking b " +
+            "where b.booker.id = :bookerId and b.status in :statuses and b.endTime > :time")
+    List<BookingShort> findAllShortByBookerIdAndStatusInAndEndTimeAfter(@Param("bookerId") long bookerId,
+                                                                        @Param("statuses") Collection<Status> statuses,
+                                                                        @Param("time") LocalDateTime time);
+
     Optional<Booking> findFirstByItemIdAndStatusEqualsAndStartTimeIsBefore(long itemId, Status status,
                                                                            LocalDateTime time, Sort sort);
 
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingSeekRepository {
+
+    List<BookingView> findAllByBookerIdAfter(long bookerId, BookingState state, LocalDateTime now,
+                                             @Nullable BookingCursor after, int limit);
+
+    List<BookingView> findAllByOwnerIdAfter(long ownerId, BookingState state, LocalDateTime now,
+                                            @Nullable BookingCursor after, int limit);
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class BookingSeekRepositoryImpl implements BookingSeekRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findAllByBookerIdAfter(long bookerId, BookingState state, LocalDateTime now,
+                                                    @Nullable BookingCursor after, int limit) {
+        return findAllAfter(booking -> booking.get("booker").get("id"), bookerId, state, now, after, limit);
+    }
+
+    @Override
+    public List<BookingView> findAllByOwnerIdAfter(long ownerId, BookingState state, LocalDateTime now,
+                                                   @Nullable BookingCursor after, int limit) {
+        return findAllAfter(booking -> booking.get("ownerId"), ownerId, state, now, after, limit);
+    }
+
+    private List<BookingView> findAllAfter(Function<Root<Booking>, Path<Long>> userId, long id, BookingState state,
+                                           LocalDateTime now, @Nullable BookingCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, User> booker = booking.join("booker");
+        Join<Booking, Item> item = booking.join("item");
+        Path<LocalDateTime> start = booking.get("startTime");
+        Path<LocalDateTime> end = booking.get("endTime");
+        Path<Long> bookingId = booking.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(userId.apply(booking), id));
+        switch (state) {
+            case CURRENT:
+                predicates.add(cb.lessThan(start, now));
+                predicates.add(cb.greaterThan(end, now));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(start, now));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(end, now));
+                break;
+            case REJECTED:
+                predicates.add(cb.equal(booking.get("status"), Status.REJECTED));
+                break;
+            case WAITING:
+                predicates.add(cb.equal(booking.get("status"), Status.WAITING));
+                break;
+            default:
+                break;
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(start, after.getStartTime()),
+                    cb.and(cb.equal(start, after.getStartTime()), cb.lessThan(bookingId, after.getId()))));
+        }
+        query.select(cb.construct(BookingView.class, bookingId, start, end, booking.get("status"),
+                        booker.get("id"), booker.get("name"), booker.get("email"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("request").get("id")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(bookingId));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,10 +1,11 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
-import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
     BookingDto create(BookingCreateDto bookingCreateDto, long userId);
@@ -13,7 +14,11 @@ public interface BookingService {
 
     BookingDto getById(Long bookingId, long userId);
 
-    Collection<BookingDto> getAllByOwnerQuery(long userId, BookingState state, Pageable pageable);
+    List<BookingDto> getAllByOwnerQuery(long userId, BookingState state, Pageable pageable);
 
-    Collection<BookingDto> getAllByUserQuery(long userId, BookingState state, Pageable pageable);
+    List<BookingDto> getAllByOwnerQuery(long userId, BookingState state, @Nullable BookingCursor after, int limit);
+
+    List<BookingDto> getAllByUserQuery(long userId, BookingState state, Pageable pageable);
+
+    List<BookingDto> getAllByUserQuery(long userId, BookingState state, @Nullable BookingCursor after, int limit);
 }
@@ -2,19 +2,24 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.exception.NotAccessException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +30,8 @@ public class BookingServiceImpl implements BookingService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final UserIdIndex userIdIndex;
 
     @Override
     public BookingDto create(BookingCreateDto bookingDto, long userId) {
@@ -39,13 +46,14 @@ public class BookingServiceImpl implements BookingService {
         if (item.getOwner().getId().equals(userId)) {
             throw new NotAccessException("Владелец не может арендовать свой предмет");
         }
-        Booking booking = bookingMapper.toModel(bookingDto, Status.WAITING, item, user);
-        return bookingMapper.toDto(bookingRepository.save(booking));
+        Booking booking = availabilityIndex.admit(item.getId(), bookingDto.getStartTime(), bookingDto.getEndTime(),
+                () -> bookingRepository.save(bookingMapper.toModel(bookingDto, Status.WAITING, item, user)));
+        return bookingMapper.toDto(booking);
     }
 
     @Override
     public BookingDto update(Long bookingId, long userId, Boolean approved) {
-        if (!userRepository.existsById(userId)) {
+        if (!userIdIndex.contains(userId)) {
             throw new NotFoundException("Пользователь с id: " + userId + " не найден");
         }
         Booking booking = bookingRepository.findById(bookingId)
@@ -56,13 +64,27 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getStatus().equals(Status.APPROVED)) {
             throw new IllegalArgumentException("Статус уже подтверждён");
         }
-        booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
-        return bookingMapper.toDto(bookingRepository.save(booking));
+        long itemId = booking.getItem().getId();
+        Booking updatedBooking;
+        if (approved && booking.getStatus().equals(Status.REJECTED)) {
+            updatedBooking = availabilityIndex.admit(itemId, booking.getStartTime(), booking.getEndTime(), () -> {
+                booking.setStatus(Status.APPROVED);
+                return bookingRepository.save(booking);
+            });
+        } else {
+            booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
+            updatedBooking = bookingRepository.save(booking);
+            if (!approved) {
+                availabilityIndex.release(itemId, booking.getId());
+            }
+        }
+        return bookingMapper.toDto(updatedBooking);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingDto getById(Long bookingId, long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userIdIndex.contains(userId)) {
             throw new NotFoundException("Пользователь с id: " + userId + " не найден");
         }
         Booking booking = bookingRepository.findById(bookingId)
@@ -75,11 +97,12 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public Collection<BookingDto> getAllByUserQuery(long userId, BookingState bookingState, Pageable pageable) {
-        if (!userRepository.existsById(userId)) {
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllByUserQuery(long userId, BookingState bookingState, Pageable pageable) {
+        if (!userIdIndex.contains(userId)) {
             throw new NotFoundException("Пользователь с id: " + userId + " не найден");
         }
-        Collection<Booking> requestedBooking;
+        Collection<BookingView> requestedBooking;
         LocalDateTime now = LocalDateTime.now();
         switch (bookingState) {
             case ALL:
@@ -114,35 +137,36 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public Collection<BookingDto> getAllByOwnerQuery(long userId, BookingState bookingState, Pageable pageable) {
-        if (!userRepository.existsById(userId)) {
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllByOwnerQuery(long userId, BookingState bookingState, Pageable pageable) {
+        if (!userIdIndex.contains(userId)) {
             throw new NotFoundException("Пользователь с id: " + userId + " не найден");
         }
-        Collection<Booking> requestedBooking;
+        Collection<BookingView> requestedBooking;
         LocalDateTime now = LocalDateTime.now();
         switch (bookingState) {
             case ALL:
-                requestedBooking = bookingRepository.findAllByItemOwnerId(userId, pageable);
+                requestedBooking = bookingRepository.findAllByOwnerId(userId, pageable);
                 break;
             case CURRENT:
                 requestedBooking = bookingRepository
-                        .findAllByItemOwnerIdAndStartTimeBeforeAndEndTimeAfter(userId, now, now, pageable);
+                        .findAllByOwnerIdAndStartTimeBeforeAndEndTimeAfter(userId, now, now, pageable);
                 break;
             case FUTURE:
                 requestedBooking = bookingRepository
-                        .findAllByItemOwnerIdAndStartTimeAfter(userId, now, pageable);
+                        .findAllByOwnerIdAndStartTimeAfter(userId, now, pageable);
                 break;
             case PAST:
                 requestedBooking = bookingRepository
-                        .findAllByItemOwnerIdAndEndTimeBefore(userId, now, pageable);
+                        .findAllByOwnerIdAndEndTimeBefore(userId, now, pageable);
                 break;
             case REJECTED:
                 requestedBooking = bookingRepository
-                        .findAllByItemOwnerIdAndStatus(userId, Status.REJECTED, pageable);
+                        .findAllByOwnerIdAndStatus(userId, Status.REJECTED, pageable);
                 break;
             case WAITING:
                 requestedBooking = bookingRepository
-                        .findAllByItemOwnerIdAndStatus(userId, Status.WAITING, pageable);
+                        .findAllByOwnerIdAndStatus(userId, Status.WAITING, pageable);
                 break;
             default:
                 requestedBooking = Collections.emptyList();
@@ -151,4 +175,30 @@ public class BookingServiceImpl implements BookingService {
                 .map(bookingMapper::toDto)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllByUserQuery(long userId, BookingState bookingState,
+                                              @Nullable BookingCursor after, int limit) {
+        if (!userIdIndex.contains(userId)) {
+            throw new NotFoundException("Пользователь с id: " + userId + " не найден");
+        }
+        return bookingRepository.findAllByBookerIdAfter(userId, bookingState, LocalDateTime.now(), after, limit)
+                .stream()
+                .map(bookingMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllByOwnerQuery(long userId, BookingState bookingState,
+                                               @Nullable BookingCursor after, int limit) {
+        if (!userIdIndex.contains(userId)) {
+            throw new NotFoundException("Пользователь с id: " + userId + " не найден");
+        }
+        return bookingRepository.findAllByOwnerIdAfter(userId, bookingState, LocalDateTime.now(), after, limit)
+                .stream()
+                .map(bookingMapper::toDto)
+                .collect(Collectors.toList());
+    }
 }
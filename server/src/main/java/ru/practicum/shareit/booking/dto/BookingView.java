@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Плоская проекция аренды со всеми полями {@link BookingDto}: выбирается одним запросом с join арендатора и вещи
+ * и не попадает в контекст персистентности.
+ */
+@Value
+public class BookingView {
+    Long id;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+    Status status;
+    Long bookerId;
+    String bookerName;
+    String bookerEmail;
+    Long itemId;
+    String itemName;
+    String itemDescription;
+    Boolean itemAvailable;
+    Long itemRequestId;
+}
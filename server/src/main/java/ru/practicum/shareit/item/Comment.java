@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @Table(name = "COMMENTS", schema = "PUBLIC")
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "COMMENTS_ID_SEQ", schema = "PUBLIC", allocationSize = 50)
     @Column(name = "COMMENT_ID")
     private Long id;
     @Column(name = "TEXT")
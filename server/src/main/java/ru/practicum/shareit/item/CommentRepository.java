@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,5 +12,6 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findAllByItemId(Long itemId, Sort sort);
 
-    List<Comment> findAllByItemIdIn(List<Long> itemIds);
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findAllByItemIdIn(List<Long> itemIds, Sort sort);
 }
@@ -1,12 +1,16 @@
 package ru.practicum.shareit.item;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @Builder(toBuilder = true)
@@ -15,7 +19,8 @@ import javax.persistence.*;
 @Table(name = "ITEMS", schema = "PUBLIC")
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "ITEMS_ID_SEQ", schema = "PUBLIC", allocationSize = 50)
     @Column(name = "ITEM_ID")
     private Long id;
     @Column(name = "ITEM_NAME")
@@ -24,7 +29,7 @@ public class Item {
     private String description;
     @Column(name = "AVAILABLE")
     private Boolean available;
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "USER_ID")
     private User owner;
     @ManyToOne(fetch = FetchType.LAZY)
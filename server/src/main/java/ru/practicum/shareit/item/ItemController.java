@@ -11,6 +11,7 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.Collection;
+import java.util.List;
 
 
 @Slf4j
@@ -34,6 +35,16 @@ public class ItemController {
         return item;
     }
 
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("/batch")
+    public List<ItemDto> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                   @RequestBody List<ItemDto> itemDtos) {
+        log.info("Поступил POST-запрос в /items/batch на создание вещей: {}", itemDtos.size());
+        List<ItemDto> items = itemService.createAll(itemDtos, userId);
+        log.info("POST-запрос /items/batch был обработан, создано вещей: {}", items.size());
+        return items;
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader("X-Sharer-User-Id") Long userId,
                           @RequestBody ItemDto itemDto,
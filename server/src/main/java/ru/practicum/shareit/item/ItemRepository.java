@@ -13,12 +13,13 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
 
-    @Query("select i from Item i " +
-            "where (lower(i.name) like '%'||lower(:text)||'%' " +
-            "or lower(i.description) like '%'||lower(:text)||'%') and i.available = true")
-    List<Item> search(@Param("text") String text, Pageable pageable);
-
     List<Item> findAllByRequestIdIn(List<Long> requests);
 
     List<Item> findAllByRequestId(Long requestId);
+
+    /**
+     * Вещи, которые БД удалит каскадом вместе с пользователем: его собственные и созданные по его запросам.
+     */
+    @Query("select i.id from Item i left join i.request r where i.owner.id = :userId or r.requestor.id = :userId")
+    List<Long> findAllIdsDeletedWithUser(@Param("userId") long userId);
 }
@@ -0,0 +1,180 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.StripedLocks;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+    private static final int LOCK_STRIPES = 256;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, IndexedItem> items = new TreeMap<>();
+    private final Map<String, NavigableSet<Long>> postings = new HashMap<>();
+    private final StripedLocks writeOrder = new StripedLocks(LOCK_STRIPES);
+
+    @PostConstruct
+    public void rebuild() {
+        List<Item> all = itemRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            items.clear();
+            postings.clear();
+            all.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс вещей построен, проиндексировано: {}", all.size());
+    }
+
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            unindex(item.getId());
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Сохраняет изменённую вещь и индексирует её под блокировкой этой вещи: при одновременных изменениях
+     * в индексе остаётся версия, записанная в БД последней.
+     */
+    public Item save(long itemId, Supplier<Item> save) {
+        Lock itemLock = writeOrder.lockFor(itemId);
+        itemLock.lock();
+        try {
+            Item item = save.get();
+            index(item);
+            return item;
+        } finally {
+            itemLock.unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        Lock itemLock = writeOrder.lockFor(itemId);
+        itemLock.lock();
+        lock.writeLock().lock();
+        try {
+            unindex(itemId);
+        } finally {
+            lock.writeLock().unlock();
+            itemLock.unlock();
+        }
+    }
+
+    public List<Long> search(String text, long offset, int limit) {
+        String query = text.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Iterable<Long> candidates = query.length() < GRAM_SIZE ? items.keySet() : candidates(query);
+            List<Long> result = new ArrayList<>(limit);
+            long skipped = 0;
+            for (Long id : candidates) {
+                if (!items.get(id).matches(query)) {
+                    continue;
+                }
+                if (skipped++ < offset) {
+                    continue;
+                }
+                result.add(id);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Iterable<Long> candidates(String query) {
+        List<NavigableSet<Long>> sets = new ArrayList<>();
+        for (String gram : gramsOf(query)) {
+            NavigableSet<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            sets.add(ids);
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+        NavigableSet<Long> smallest = sets.get(0);
+        List<NavigableSet<Long>> others = sets.subList(1, sets.size());
+        List<Long> result = new ArrayList<>();
+        for (Long id : smallest) {
+            if (others.stream().allMatch(ids -> ids.contains(id))) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private void put(Item item) {
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+        IndexedItem indexed = new IndexedItem(item);
+        items.put(item.getId(), indexed);
+        for (String gram : indexed.grams()) {
+            postings.computeIfAbsent(gram, g -> new TreeSet<>()).add(item.getId());
+        }
+    }
+
+    private void unindex(Long itemId) {
+        IndexedItem indexed = items.remove(itemId);
+        if (indexed == null) {
+            return;
+        }
+        for (String gram : indexed.grams()) {
+            NavigableSet<Long> ids = postings.get(gram);
+            ids.remove(itemId);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private static final class IndexedItem {
+        private final String name;
+        private final String description;
+
+        private IndexedItem(Item item) {
+            this.name = item.getName() != null ? item.getName().toLowerCase(Locale.ROOT) : "";
+            this.description = item.getDescription() != null ? item.getDescription().toLowerCase(Locale.ROOT) : "";
+        }
+
+        private boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = gramsOf(name);
+            grams.addAll(gramsOf(description));
+            return grams;
+        }
+    }
+}
@@ -10,6 +10,8 @@ import java.util.List;
 public interface ItemService {
     ItemDto create(ItemDto itemDto, long userId);
 
+    List<ItemDto> createAll(List<ItemDto> itemDtos, long userId);
+
     CommentDto create(CommentDto commentDto, long userId, Long itemId);
 
     List<CommentDto> getAllComments(Long itemId);
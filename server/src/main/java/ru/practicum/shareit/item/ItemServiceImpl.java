@@ -4,11 +4,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -32,6 +34,7 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
     public ItemDto create(ItemDto itemDto, long userId) {
@@ -39,7 +42,31 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NotFoundException("Пользователь с id: " + userId + " не найден"));
         ItemRequest request = itemDto.getRequestId() != null ?
                 itemRequestRepository.findById(itemDto.getRequestId()).orElse(null) : null;
-        return itemMapper.toDto(itemRepository.save(itemMapper.toModel(itemDto, user, request)));
+        Item item = itemRepository.save(itemMapper.toModel(itemDto, user, request));
+        itemSearchIndex.index(item);
+        return itemMapper.toDto(item);
+    }
+
+    @Override
+    @Transactional
+    public List<ItemDto> createAll(List<ItemDto> itemDtos, long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id: " + userId + " не найден"));
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Collections.emptyMap() :
+                itemRequestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, request -> request));
+        List<Item> items = itemRepository.saveAll(itemDtos.stream()
+                .map(itemDto -> itemMapper.toModel(itemDto, user, requests.get(itemDto.getRequestId())))
+                .collect(Collectors.toList()));
+        itemRepository.flush();
+        items.forEach(itemSearchIndex::index);
+        return items.stream()
+                .map(itemMapper::toDto)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -60,6 +87,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CommentDto> getAllComments(Long itemId) {
         List<Comment> comments = commentRepository.findAllByItemId(itemId, Sort.by("created"));
         return comments
@@ -69,6 +97,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto getByIdAndUserId(long userId, Long itemId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Предмет с id: " + itemId + " не найден"));
@@ -79,48 +108,28 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getByOwner(long userId, Pageable pageable) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id: " + userId + " не найден"));
         List<Item> items = itemRepository.findAllByOwnerId(userId, pageable);
-        List<Long> itemsIds = items.stream()
-                .map(Item::getId)
-                .collect(Collectors.toList());
-        List<Booking> bookings = bookingRepository.findAllByItemIdIn(itemsIds);
-        if (bookings.isEmpty()) {
-            return items.stream()
-                    .map(itemMapper::toDto)
-                    .collect(Collectors.toList());
-        }
-        List<Comment> comments = commentRepository.findAllByItemIdIn(itemsIds);
-        Map<Long, List<Booking>> itemBookings = bookings.stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), Collectors.toList()));
-        Map<Long, List<Comment>> itemComments = comments.stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(), Collectors.toList()));
-        return items.stream()
-                .map(item -> {
-                    BookingInfoDto lastBooking = getLastBooking(itemBookings.getOrDefault(item.getId(), Collections.emptyList()));
-                    BookingInfoDto nextBooking = getNextBooking(itemBookings.getOrDefault(item.getId(), Collections.emptyList()));
-                    List<CommentDto> commentsItem = itemComments.getOrDefault(item.getId(), Collections.emptyList())
-                            .stream()
-                            .map(commentMapper::toDto)
-                            .collect(Collectors.toList());
-                    return itemMapper.toDto(item, lastBooking,
-                            nextBooking, commentsItem);
-                })
-                .collect(Collectors.toList());
+        return toDtosWithBookingsAndComments(items);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<ItemDto> findAllByText(String text, Pageable pageable) {
         if (text.isEmpty()) {
             return Collections.emptyList();
         }
-        return itemRepository.search(text, pageable)
+        List<Long> itemIds = itemSearchIndex.search(text, pageable.getOffset(), pageable.getPageSize());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds)
                 .stream()
-                .map(item -> itemMapper.toDto(item, getLastBooking(item.getId()), getNextBooking(item.getId()),
-                        getAllComments(item.getId())))
-                .collect(Collectors.toList());
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        return toDtosWithBookingsAndComments(itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
     }
 
     @Override
@@ -139,39 +148,51 @@ public class ItemServiceImpl implements ItemService {
         item.setDescription(Objects.requireNonNullElse(itemFromDto.getDescription(), item.getDescription()));
         item.setAvailable(Objects.requireNonNullElse(itemFromDto.getAvailable(), item.getAvailable()));
 
-        return itemMapper.toDto(itemRepository.save(item), getLastBooking(item.getId()), getNextBooking(item.getId()),
+        Item updatedItem = itemSearchIndex.save(item.getId(), () -> itemRepository.save(item));
+        return itemMapper.toDto(updatedItem, getLastBooking(item.getId()), getNextBooking(item.getId()),
                 getAllComments(item.getId()));
     }
 
+    private List<ItemDto> toDtosWithBookingsAndComments(List<Item> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> itemsIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingInfoDto> lastBookings = bookingRepository.findLastApprovedByItemIdIn(itemsIds, now)
+                .stream()
+                .collect(Collectors.toMap(BookingShort::getItemId, BookingMapper::toBookingInfoDto));
+        Map<Long, BookingInfoDto> nextBookings = bookingRepository.findNextApprovedByItemIdIn(itemsIds, now)
+                .stream()
+                .collect(Collectors.toMap(BookingShort::getItemId, BookingMapper::toBookingInfoDto));
+        Map<Long, List<Comment>> itemComments = commentRepository.findAllByItemIdIn(itemsIds, Sort.by("created"))
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(), Collectors.toList()));
+        return items.stream()
+                .map(item -> {
+                    List<CommentDto> commentsItem = itemComments.getOrDefault(item.getId(), Collections.emptyList())
+                            .stream()
+                            .map(commentMapper::toDto)
+                            .collect(Collectors.toList());
+                    return itemMapper.toDto(item, lastBookings.get(item.getId()), nextBookings.get(item.getId()),
+                            commentsItem);
+                })
+                .collect(Collectors.toList());
+    }
+
     private BookingInfoDto getLastBooking(long itemId) {
         return bookingRepository.findFirstByItemIdAndStatusEqualsAndStartTimeIsBefore(itemId,
-                        Status.APPROVED, LocalDateTime.now(), Sort.by("endTime").descending())
+                        Status.APPROVED, LocalDateTime.now(), Sort.by(Sort.Order.desc("endTime"), Sort.Order.desc("id")))
                 .map(BookingMapper::toBookingInfoDto)
                 .orElse(null);
     }
 
     private BookingInfoDto getNextBooking(long itemId) {
         return bookingRepository.findFirstByItemIdAndStatusEqualsAndStartTimeIsAfter(itemId,
-                        Status.APPROVED, LocalDateTime.now(), Sort.by("startTime").ascending())
+                        Status.APPROVED, LocalDateTime.now(), Sort.by(Sort.Order.asc("startTime"), Sort.Order.asc("id")))
                 .map(BookingMapper::toBookingInfoDto)
                 .orElse(null);
     }
-
-    private BookingInfoDto getLastBooking(List<Booking> bookings) {
-        Optional<Booking> lastBooking = bookings
-                .stream()
-                .filter(booking -> booking.getStatus().equals(Status.APPROVED)
-                        && booking.getStartTime().isBefore(LocalDateTime.now()))
-                .max(Comparator.comparing(Booking::getEndTime));
-        return lastBooking.map(BookingMapper::toBookingInfoDto).orElse(null);
-    }
-
-    private BookingInfoDto getNextBooking(List<Booking> bookings) {
-        Optional<Booking> nextBooking = bookings
-                .stream()
-                .filter(booking -> booking.getStatus().equals(Status.APPROVED)
-                        && booking.getStartTime().isAfter(LocalDateTime.now()))
-                .min(Comparator.comparing(Booking::getStartTime));
-        return nextBooking.map(BookingMapper::toBookingInfoDto).orElse(null);
-    }
 }
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import ru.practicum.shareit.replica.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Пул соединений основной БД. Размер считается от числа потоков Tomcat
+ * ({@link ConnectionPoolProperties#poolSize(int)}), явно заданный {@code spring.datasource.hikari.maximum-pool-size}
+ * имеет приоритет.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ConnectionPoolProperties.class)
+public class ConnectionPoolConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties,
+                                              ConnectionPoolProperties properties,
+                                              @Value("${server.tomcat.threads.max:200}") int tomcatThreads,
+                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setMaximumPoolSize(properties.poolSize(tomcatThreads));
+        dataSource.setMetricsTrackerFactory(new SlowAcquireMetricsTrackerFactory(meterRegistry::getIfAvailable,
+                properties.getSlowAcquireThreshold()));
+        log.info("Пул соединений по умолчанию: {} соединений на {} потоков Tomcat",
+                dataSource.getMaximumPoolSize(), tomcatThreads);
+        return dataSource;
+    }
+
+    /**
+     * Физическое соединение берётся из пула только на первом SQL-запросе транзакции: транзакции, обслуженные
+     * кэшем второго уровня, пул не занимают, а при медленном получении в стеке уже есть метод сервиса.
+     * Настройки соединения по умолчанию берутся из пула: иначе прокси взял бы соединение при создании,
+     * до того как готов реестр метрик.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 ObjectProvider<ReplicaRoutingDataSource> routingDataSource) throws SQLException {
+        HikariDataSource pool = primary.unwrap(HikariDataSource.class);
+        DataSource target = routingDataSource.getIfAvailable();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(target != null ? target : primary);
+        dataSource.setDefaultAutoCommit(pool.isAutoCommit());
+        if (pool.getTransactionIsolation() != null) {
+            dataSource.setDefaultTransactionIsolationName(pool.getTransactionIsolation());
+        }
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.pool;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.datasource.pool")
+public class ConnectionPoolProperties {
+    /**
+     * Сколько соединений приходится на один поток Tomcat: без open-in-view поток держит соединение
+     * только на время транзакции, поэтому пул заметно меньше числа потоков.
+     */
+    private double connectionsPerThread = 0.1;
+    private int minSize = 10;
+    private int maxSize = 40;
+    /**
+     * Ожидание соединения дольше порога пишется в лог вместе с методом сервиса, который его запросил.
+     */
+    private Duration slowAcquireThreshold = Duration.ofMillis(100);
+
+    int poolSize(int tomcatThreads) {
+        int size = (int) Math.ceil(tomcatThreads * connectionsPerThread);
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
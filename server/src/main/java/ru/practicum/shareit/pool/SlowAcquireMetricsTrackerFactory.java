@@ -0,0 +1,121 @@
+package ru.practicum.shareit.pool;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Метрики пула Hikari в Micrometer ({@code hikaricp.connections.*}) и предупреждение в лог, если соединение ждали
+ * дольше порога. Hikari сообщает время ожидания в потоке, который брал соединение, поэтому вызывающий метод
+ * сервиса находится по стеку.
+ */
+@Slf4j
+public class SlowAcquireMetricsTrackerFactory implements MetricsTrackerFactory {
+    static final String SLOW_ACQUIRE_METRIC = "shareit.db.connections.slow.acquire";
+    private static final String APPLICATION_PACKAGE = "ru.practicum.shareit.";
+    private static final String SERVICE_SUFFIX = "ServiceImpl";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final Supplier<MeterRegistry> registry;
+    private final long thresholdNanos;
+
+    /**
+     * Реестр метрик запрашивается только при старте пула: сам реестр при создании привязывает метрики пулов,
+     * и получение его вместе с пулом образует цикл зависимостей.
+     */
+    public SlowAcquireMetricsTrackerFactory(Supplier<MeterRegistry> registry, Duration threshold) {
+        this.registry = registry;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        MeterRegistry meterRegistry = registry.get();
+        IMetricsTracker delegate = meterRegistry != null
+                ? new MicrometerMetricsTrackerFactory(meterRegistry).create(poolName, poolStats)
+                : new IMetricsTracker() {
+                };
+        return new SlowAcquireTracker(poolName, delegate, meterRegistry);
+    }
+
+    /**
+     * Первый метод сервиса в стеке текущего потока, а если сервиса нет — первый метод приложения.
+     */
+    static String caller() {
+        List<StackWalker.StackFrame> frames = STACK_WALKER.walk(stack -> stack
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE))
+                .filter(frame -> !frame.getClassName().startsWith(SlowAcquireMetricsTrackerFactory.class.getName()))
+                .collect(Collectors.toList()));
+        return frames.stream()
+                .filter(frame -> frame.getClassName().endsWith(SERVICE_SUFFIX))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse("неизвестно");
+    }
+
+    private class SlowAcquireTracker implements IMetricsTracker {
+        private final String poolName;
+        private final IMetricsTracker delegate;
+        @Nullable
+        private final MeterRegistry registry;
+
+        SlowAcquireTracker(String poolName, IMetricsTracker delegate, @Nullable MeterRegistry registry) {
+            this.poolName = poolName;
+            this.delegate = delegate;
+            this.registry = registry;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            if (elapsedAcquiredNanos < thresholdNanos) {
+                return;
+            }
+            String caller = caller();
+            log.warn("Соединение из пула {} получено через {} мс, вызов {}",
+                    poolName, TimeUnit.NANOSECONDS.toMillis(elapsedAcquiredNanos), caller);
+            if (registry != null) {
+                Counter.builder(SLOW_ACQUIRE_METRIC)
+                        .description("Получения соединения дольше порога")
+                        .tag("pool", poolName)
+                        .tag("caller", caller)
+                        .register(registry)
+                        .increment();
+            }
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            delegate.recordConnectionTimeout();
+            log.warn("Не дождались соединения из пула {}, вызов {}", poolName, caller());
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
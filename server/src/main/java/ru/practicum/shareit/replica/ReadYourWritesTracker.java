@@ -0,0 +1,39 @@
+package ru.practicum.shareit.replica;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Помнит пользователей, недавно выполнявших запись, пока реплики могут ещё не получить их изменения.
+ */
+public class ReadYourWritesTracker {
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long stickyWindowNanos;
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration stickyWindow) {
+        this.stickyWindowNanos = stickyWindow.toNanos();
+    }
+
+    public void recordWrite(long userId) {
+        long now = System.nanoTime();
+        stickyUntil.put(userId, now + stickyWindowNanos);
+        if (stickyUntil.size() > PRUNE_THRESHOLD) {
+            stickyUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    public boolean isSticky(long userId) {
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(userId, until);
+        return false;
+    }
+}
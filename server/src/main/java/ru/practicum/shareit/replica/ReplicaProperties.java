@@ -0,0 +1,18 @@
+package ru.practicum.shareit.replica;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.datasource.replicas")
+public class ReplicaProperties {
+    private List<String> urls = new ArrayList<>();
+    /**
+     * Сколько после записи чтения пользователя идут в основную БД, чтобы он видел свои изменения.
+     */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+}
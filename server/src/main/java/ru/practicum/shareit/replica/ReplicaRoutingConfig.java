@@ -0,0 +1,52 @@
+package ru.practicum.shareit.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Включается свойством {@code shareit.datasource.replicas.urls}: read-only транзакции GET-запросов
+ * распределяются по репликам, учётные данные и настройки пула берутся из {@code spring.datasource}.
+ * Маршрутизатор становится целью основного {@code dataSource} из {@link ru.practicum.shareit.pool.ConnectionPoolConfig}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "shareit.datasource.replicas", name = "urls")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties properties) {
+        return new ReadYourWritesTracker(properties.getStickyWindow());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                     ReplicaProperties properties, ReadYourWritesTracker tracker) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getUrls().size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setJdbcUrl(properties.getUrls().get(i));
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        log.info("Чтение распределяется по репликам: {}", replicas.size());
+        return new ReplicaRoutingDataSource(primary, replicas, tracker);
+    }
+
+    @Bean
+    public FilterRegistrationBean<WriteTrackingFilter> writeTrackingFilter(ReadYourWritesTracker tracker) {
+        return new FilterRegistrationBean<>(new WriteTrackingFilter(tracker));
+    }
+}
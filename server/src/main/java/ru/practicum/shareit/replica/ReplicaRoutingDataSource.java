@@ -0,0 +1,132 @@
+package ru.practicum.shareit.replica;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Направляет в реплики только read-only транзакции GET-запросов. Всё остальное идёт в основную БД:
+ * запись, чтение внутри пишущих запросов (репозитории открывают read-only транзакции и там), инициализация
+ * приложения, чтение пользователя, недавно выполнявшего запись, и чтение недавно изменённого пользователя
+ * по {@code /users/{id}}. Прочитанное из реплики может отставать, поэтому в кэш второго уровня не кладётся.
+ * Соединение выбирается при первом запросе к БД, поэтому источник оборачивается в LazyConnectionDataSourceProxy.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    static final String PRIMARY = "primary";
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final Pattern USER_PATH = Pattern.compile("/users/(\\d+)");
+
+    private final List<String> replicas;
+    private final List<DataSource> replicaDataSources;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker tracker) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            targets.put(key, replicas.get(i));
+            this.replicas.add(key);
+        }
+        this.replicaDataSources = List.copyOf(replicas);
+        this.tracker = tracker;
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        HttpServletRequest request = currentRequest();
+        if (request == null || !isSafe(request)) {
+            return PRIMARY;
+        }
+        if (isSticky(userId(request)) || isSticky(pathUserId(request))) {
+            return PRIMARY;
+        }
+        bypassSecondLevelCachePuts();
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    private boolean isSticky(@Nullable Long userId) {
+        return userId != null && tracker.isSticky(userId);
+    }
+
+    private static void bypassSecondLevelCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder) {
+                ((EntityManagerHolder) resource).getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicaDataSources) {
+            if (replica instanceof AutoCloseable) {
+                ((AutoCloseable) replica).close();
+            }
+        }
+    }
+
+    static boolean isSafe(HttpServletRequest request) {
+        return SAFE_METHODS.contains(request.getMethod());
+    }
+
+    @Nullable
+    static Long userId(HttpServletRequest request) {
+        String header = request.getHeader(USER_ID_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Long pathUserId(HttpServletRequest request) {
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes
+                ? ((ServletRequestAttributes) attributes).getRequest()
+                : null;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.replica;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class WriteTrackingFilter extends OncePerRequestFilter {
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Long userId = ReplicaRoutingDataSource.userId(request);
+            if (userId != null && !ReplicaRoutingDataSource.isSafe(request)) {
+                tracker.recordWrite(userId);
+            }
+        }
+    }
+}
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @Table(name = "REQUESTS", schema = "PUBLIC")
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "REQUESTS_ID_SEQ", schema = "PUBLIC", allocationSize = 50)
     @Column(name = "REQUEST_ID")
     private Long id;
     @Column(name = "DESCRIPTION")
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.user;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @Builder(toBuilder = true)
@@ -13,7 +17,8 @@ import javax.persistence.*;
 @Table(name = "USERS", schema = "PUBLIC")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "USERS_ID_SEQ", schema = "PUBLIC", allocationSize = 50)
     @Column(name = "USER_ID")
     private Long id;
     @Column(name = "USER_NAME")
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Множество id существующих пользователей в памяти для проверок без обращения к БД.
+ * Если id не найден, ответ уточняется в БД: пользователь мог быть создан другим экземпляром сервера.
+ * Такой id в множество не добавляется, иначе его не убрало бы удаление пользователя на другом экземпляре
+ * или удаление, прошедшее между проверкой в БД и добавлением.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserIdIndex {
+
+    private final UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Roaring64Bitmap ids = new Roaring64Bitmap();
+
+    @PostConstruct
+    public void rebuild() {
+        List<Long> all = userRepository.findAllIds();
+        lock.writeLock().lock();
+        try {
+            ids.clear();
+            all.forEach(ids::addLong);
+            ids.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс id пользователей построен, пользователей: {}", all.size());
+    }
+
+    public boolean contains(long userId) {
+        lock.readLock().lock();
+        try {
+            if (ids.contains(userId)) {
+                return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return userRepository.existsById(userId);
+    }
+
+    public void add(long userId) {
+        lock.writeLock().lock();
+        try {
+            ids.addLong(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            ids.removeLong(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    long size() {
+        lock.readLock().lock();
+        try {
+            return ids.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
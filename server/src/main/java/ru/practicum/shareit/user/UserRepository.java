@@ -1,9 +1,22 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    @Query("select u.id from User u")
+    List<Long> findAllIds();
+
+    /**
+     * Проверка через {@link #findById}, чтобы ответ брался из кэша второго уровня, а не запросом count в БД.
+     */
+    @Override
+    default boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
 }
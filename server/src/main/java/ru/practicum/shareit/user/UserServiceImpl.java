@@ -2,11 +2,22 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.replica.ReadYourWritesTracker;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -17,19 +28,30 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserIdIndex userIdIndex;
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
 
     @Override
     public UserDto create(UserDto userDto) {
-        return userMapper.toDto(userRepository.save(userMapper.toModel(userDto)));
+        User user = userRepository.save(userMapper.toModel(userDto));
+        userIdIndex.add(user.getId());
+        recordWrite(user.getId());
+        return userMapper.toDto(user);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto findById(Long userId) {
         return userMapper.toDto(userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id: " + userId + " не найден")));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<UserDto> findAll() {
         return userRepository.findAll()
                 .stream()
@@ -45,12 +67,32 @@ public class UserServiceImpl implements UserService {
         userFromMap.setName(Objects.requireNonNullElse(userFromDto.getName(), userFromMap.getName()));
         userFromMap.setEmail(Objects.requireNonNullElse(userFromDto.getEmail(), userFromMap.getEmail()));
 
-        return userMapper.toDto(userRepository.save(userFromMap));
+        UserDto user = userMapper.toDto(userRepository.save(userFromMap));
+        recordWrite(userDto.getId());
+        return user;
     }
 
     @Override
     public void delete(Long userId) {
+        List<Long> itemIds = itemRepository.findAllIdsDeletedWithUser(userId);
+        List<BookingShort> bookings = availabilityIndex.findReservedByBooker(userId);
         userRepository.deleteById(userId);
+        userIdIndex.remove(userId);
+        recordWrite(userId);
+        // вещи удаляются каскадом в БД, мимо Hibernate, поэтому из кэша второго уровня их убираем сами
+        Cache cache = entityManagerFactory.getCache();
+        itemIds.forEach(itemId -> cache.evict(Item.class, itemId));
+        itemIds.forEach(itemSearchIndex::remove);
+        itemIds.forEach(availabilityIndex::removeItem);
+        bookings.forEach(availabilityIndex::release);
+    }
+
+    /**
+     * Запросы о пользователе не несут его id в X-Sharer-User-Id, поэтому чтения /users/{id} после записи
+     * привязываются к основной БД по id самого пользователя.
+     */
+    private void recordWrite(long userId) {
+        readYourWritesTracker.ifAvailable(tracker -> tracker.recordWrite(userId));
     }
 
 }
@@ -0,0 +1,11 @@
+CREATE INDEX IF NOT EXISTS BOOKINGS_BOOKER_START_IDX ON BOOKINGS (USER_ID, START_TIME DESC);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_BOOKER_STATUS_START_IDX ON BOOKINGS (USER_ID, STATUS, START_TIME DESC);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_ITEM_START_IDX ON BOOKINGS (ITEM_ID, START_TIME DESC);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_ITEM_STATUS_START_IDX ON BOOKINGS (ITEM_ID, STATUS, START_TIME);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_STATUS_END_IDX ON BOOKINGS (STATUS, END_TIME);
+
+CREATE INDEX IF NOT EXISTS ITEMS_OWNER_IDX ON ITEMS (USER_ID);
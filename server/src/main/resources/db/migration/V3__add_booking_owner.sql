@@ -0,0 +1,12 @@
+ALTER TABLE BOOKINGS ADD COLUMN IF NOT EXISTS OWNER_ID BIGINT;
+
+UPDATE BOOKINGS SET OWNER_ID = (SELECT i.USER_ID FROM ITEMS i WHERE i.ITEM_ID = BOOKINGS.ITEM_ID)
+WHERE OWNER_ID IS NULL;
+
+ALTER TABLE BOOKINGS ALTER COLUMN OWNER_ID SET NOT NULL;
+
+ALTER TABLE BOOKINGS ADD CONSTRAINT BOOKINGS_OWNERS_FK FOREIGN KEY (OWNER_ID) REFERENCES USERS(USER_ID) ON DELETE CASCADE;
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_OWNER_START_IDX ON BOOKINGS (OWNER_ID, START_TIME DESC);
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_OWNER_STATUS_START_IDX ON BOOKINGS (OWNER_ID, STATUS, START_TIME DESC);
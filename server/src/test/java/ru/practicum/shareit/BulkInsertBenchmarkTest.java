@@ -0,0 +1,123 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.lang.Boolean.TRUE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BulkInsertBenchmarkTest {
+
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@email.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@email.com").build());
+        entityManager.flush();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void saveAllItems_whenBatchingEnabled_thenStatementsPreparedPerBatch() {
+        long unbatched = insert("items, batch size 1", 1, () -> itemRepository.saveAll(items(ROWS)));
+        long batched = insert("items, batch size " + BATCH_SIZE, BATCH_SIZE, () -> itemRepository.saveAll(items(ROWS)));
+
+        assertThat(unbatched).isGreaterThanOrEqualTo(ROWS);
+        assertThat(batched).isLessThanOrEqualTo(2L * ROWS / BATCH_SIZE + 2);
+    }
+
+    @Test
+    void saveAllBookings_whenBatchingEnabled_thenStatementsPreparedPerBatch() {
+        Item item = itemRepository.save(item(0));
+        LocalDateTime start = LocalDateTime.now();
+        IntFunction<Booking> booking = i -> Booking.builder()
+                .item(item)
+                .booker(booker)
+                .ownerId(owner.getId())
+                .startTime(start.plusHours(i))
+                .endTime(start.plusHours(i + 1))
+                .status(Status.APPROVED)
+                .build();
+
+        long unbatched = insert("bookings, batch size 1", 1,
+                () -> bookingRepository.saveAll(IntStream.range(0, ROWS).mapToObj(booking).collect(Collectors.toList())));
+        long batched = insert("bookings, batch size " + BATCH_SIZE, BATCH_SIZE,
+                () -> bookingRepository.saveAll(IntStream.range(0, ROWS).mapToObj(booking).collect(Collectors.toList())));
+
+        assertThat(unbatched).isGreaterThanOrEqualTo(ROWS);
+        assertThat(batched).isLessThanOrEqualTo(2L * ROWS / BATCH_SIZE + 2);
+    }
+
+    private long insert(String scenario, int batchSize, Supplier<List<?>> saveAll) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        statistics.clear();
+        long started = System.nanoTime();
+        saveAll.get();
+        entityManager.flush();
+        long elapsed = System.nanoTime() - started;
+        entityManager.clear();
+        long statements = statistics.getPrepareStatementCount();
+        log.info("{}: {} rows, {} statements, {} rows/sec", scenario, ROWS, statements,
+                ROWS * 1_000_000_000L / Math.max(elapsed, 1));
+        return statements;
+    }
+
+    private List<Item> items(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(this::item)
+                .collect(Collectors.toList());
+    }
+
+    private Item item(int i) {
+        return Item.builder()
+                .name("item" + i)
+                .description("description" + i)
+                .available(TRUE)
+                .owner(owner)
+                .build();
+    }
+}
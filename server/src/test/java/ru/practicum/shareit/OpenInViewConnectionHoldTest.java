@@ -0,0 +1,127 @@
+package ru.practicum.shareit;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.lang.Boolean.TRUE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сколько в среднем соединение из пула удерживается одним GET-запросом списка вещей
+ * с open-in-view и без него: с open-in-view соединение не возвращается в пул до конца сериализации ответа.
+ */
+@Slf4j
+@Tag("benchmark")
+class OpenInViewConnectionHoldTest {
+
+    private static final int ITEMS = 500;
+    private static final int WARM_UP_REQUESTS = 20;
+    private static final int REQUESTS = 100;
+
+    @Test
+    void openInViewDisabled_thenConnectionHeldOnlyForTransaction() throws Exception {
+        double withOpenInView = averageHoldMicros(true);
+        double withoutOpenInView = averageHoldMicros(false);
+
+        log.info("Удержание соединения на запрос: open-in-view {} мкс, без open-in-view {} мкс",
+                Math.round(withOpenInView), Math.round(withoutOpenInView));
+        assertThat(withoutOpenInView).isLessThan(withOpenInView);
+    }
+
+    private double averageHoldMicros(boolean openInView) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class,
+                ConnectionHoldRecorder.class).run(
+                "--server.port=0",
+                "--spring.jpa.open-in-view=" + openInView,
+                "--spring.datasource.url=jdbc:h2:mem:open-in-view-" + openInView,
+                "--logging.level.org.hibernate.SQL=INFO",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO")) {
+            User owner = context.getBean(UserRepository.class)
+                    .save(User.builder().name("owner").email("owner@email.com").build());
+            context.getBean(ItemRepository.class).saveAll(IntStream.range(0, ITEMS)
+                    .mapToObj(i -> Item.builder()
+                            .name("item" + i)
+                            .description("description" + i)
+                            .available(TRUE)
+                            .owner(owner)
+                            .build())
+                    .collect(Collectors.toList()));
+
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:"
+                            + context.getEnvironment().getProperty("local.server.port")
+                            + "/items?from=0&size=" + ITEMS))
+                    .header("X-Sharer-User-Id", String.valueOf(owner.getId()))
+                    .build();
+            ConnectionHoldRecorder recorder = context.getBean(ConnectionHoldRecorder.class);
+            for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+                assertThat(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+            }
+            recorder.reset();
+            for (int i = 0; i < REQUESTS; i++) {
+                assertThat(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+            }
+            return recorder.heldNanos.sum() / 1000.0 / REQUESTS;
+        }
+    }
+
+    static class ConnectionHoldRecorder implements BeanPostProcessor {
+        private final LongAdder heldNanos = new LongAdder();
+
+        void reset() {
+            heldNanos.reset();
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            // только пул: обёртки над ним (LazyConnectionDataSourceProxy) отдают те же соединения
+            if (!(bean instanceof HikariDataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource((DataSource) bean) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return timed(super.getConnection());
+                }
+            };
+        }
+
+        private Connection timed(Connection connection) {
+            long acquired = System.nanoTime();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close")) {
+                            heldNanos.add(System.nanoTime() - acquired);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
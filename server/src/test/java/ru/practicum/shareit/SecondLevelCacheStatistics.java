@@ -0,0 +1,30 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Статистика кэша второго уровня Hibernate по сущностям для тестов; требует
+ * {@code hibernate.generate_statistics=true}.
+ */
+@RequiredArgsConstructor
+class SecondLevelCacheStatistics {
+    private final EntityManagerFactory entityManagerFactory;
+
+    CacheRegionStatistics forEntity(Class<?> entity) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getDomainDataRegionStatistics(entity.getName());
+    }
+
+    /**
+     * Доля чтений сущности, обслуженных кэшем, от 0 до 1; {@code NaN}, если чтений ещё не было.
+     */
+    double hitRatio(Class<?> entity) {
+        CacheRegionStatistics statistics = forEntity(entity);
+        long reads = statistics.getHitCount() + statistics.getMissCount();
+        return reads == 0 ? Double.NaN : (double) statistics.getHitCount() / reads;
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingAvailabilityIndex;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.UserServiceImpl;
+
+import javax.persistence.EntityManagerFactory;
+
+import static java.lang.Boolean.TRUE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({SecondLevelCacheStatistics.class, UserServiceImpl.class, UserMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private SecondLevelCacheStatistics cacheStatistics;
+
+    @Autowired
+    private UserService userService;
+
+    @MockBean
+    private UserIdIndex userIdIndex;
+
+    @MockBean
+    private ItemSearchIndex itemSearchIndex;
+
+    @MockBean
+    private BookingAvailabilityIndex availabilityIndex;
+
+    private Statistics statistics;
+    private User user;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder().name("name").email("name@email.com").build());
+        item = itemRepository.save(Item.builder()
+                .name("item")
+                .description("description")
+                .available(TRUE)
+                .owner(user)
+                .build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanDB() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findById_whenReadTwice_thenSecondReadFromCache() {
+        userRepository.findById(user.getId()).orElseThrow();
+        long queries = statistics.getPrepareStatementCount();
+
+        userRepository.findById(user.getId()).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(queries);
+        assertThat(cacheStatistics.forEntity(User.class).getHitCount()).isEqualTo(1);
+        assertThat(cacheStatistics.forEntity(User.class).getMissCount()).isEqualTo(1);
+        assertThat(cacheStatistics.hitRatio(User.class)).isEqualTo(0.5);
+    }
+
+    @Test
+    void existsById_whenUserCached_thenNoDatabaseQuery() {
+        userRepository.findById(user.getId());
+        long queries = statistics.getPrepareStatementCount();
+
+        assertThat(userRepository.existsById(user.getId())).isTrue();
+        assertThat(userRepository.existsById(user.getId())).isTrue();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(queries);
+        assertThat(userRepository.existsById(user.getId() + 1000)).isFalse();
+    }
+
+    @Test
+    void save_whenUserUpdated_thenCacheReturnsNewValue() {
+        userRepository.findById(user.getId());
+
+        userRepository.save(user.toBuilder().name("updated").build());
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getName()).isEqualTo("updated");
+    }
+
+    @Test
+    void delete_whenItemDeleted_thenNotReturnedFromCache() {
+        itemRepository.findById(item.getId());
+        assertThat(cacheStatistics.forEntity(Item.class).getPutCount()).isEqualTo(1);
+
+        itemRepository.deleteById(item.getId());
+
+        assertThat(itemRepository.findById(item.getId())).isEmpty();
+    }
+
+    @Test
+    void delete_whenOwnerDeleted_thenCascadedItemNotReturnedFromCache() {
+        itemRepository.findById(item.getId());
+        assertThat(cacheStatistics.forEntity(Item.class).getPutCount()).isEqualTo(1);
+
+        userService.delete(user.getId());
+
+        assertThat(itemRepository.findById(item.getId())).isEmpty();
+    }
+
+    @Test
+    void findById_whenItemCached_thenOwnerLoadedFromCache() {
+        itemRepository.findById(item.getId());
+        userRepository.findById(user.getId());
+        long queries = statistics.getPrepareStatementCount();
+
+        Item cached = itemRepository.findById(item.getId()).orElseThrow();
+
+        assertThat(cached.getName()).isEqualTo("item");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(queries);
+        assertThat(cacheStatistics.hitRatio(Item.class)).isEqualTo(0.5);
+    }
+}
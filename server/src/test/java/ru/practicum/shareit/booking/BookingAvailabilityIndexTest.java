@@ -0,0 +1,213 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingShort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAvailabilityIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private BookingAvailabilityIndex availabilityIndex;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+        availabilityIndex.reserve(1L, 1L, start, start.plusHours(2));
+        availabilityIndex.reserve(1L, 2L, start.plusHours(4), start.plusHours(6));
+    }
+
+    @Test
+    void isAvailable_whenPeriodOverlapsReservation_thenReturnFalse() {
+        assertThat(availabilityIndex.isAvailable(1L, start.minusHours(1), start.plusHours(1))).isEqualTo(FALSE);
+        assertThat(availabilityIndex.isAvailable(1L, start.plusHours(1), start.plusHours(3))).isEqualTo(FALSE);
+        assertThat(availabilityIndex.isAvailable(1L, start.plusHours(3), start.plusHours(5))).isEqualTo(FALSE);
+        assertThat(availabilityIndex.isAvailable(1L, start.plusMinutes(30), start.plusHours(1))).isEqualTo(FALSE);
+        assertThat(availabilityIndex.isAvailable(1L, start.minusHours(1), start.plusHours(7))).isEqualTo(FALSE);
+        assertThat(availabilityIndex.isAvailable(1L, start, start.plusHours(2))).isEqualTo(FALSE);
+    }
+
+    @Test
+    void isAvailable_whenPeriodIsFree_thenReturnTrue() {
+        assertThat(availabilityIndex.isAvailable(1L, start.minusHours(2), start)).isEqualTo(TRUE);
+        assertThat(availabilityIndex.isAvailable(1L, start.plusHours(2), start.plusHours(4))).isEqualTo(TRUE);
+        assertThat(availabilityIndex.isAvailable(1L, start.plusHours(6), start.plusHours(8))).isEqualTo(TRUE);
+        assertThat(availabilityIndex.isAvailable(2L, start, start.plusHours(2))).isEqualTo(TRUE);
+    }
+
+    @Test
+    void release_whenBookingRejected_thenPeriodBecomesFree() {
+        availabilityIndex.release(1L, 1L);
+
+        assertThat(availabilityIndex.isAvailable(1L, start, start.plusHours(2))).isEqualTo(TRUE);
+        assertThat(availabilityIndex.isAvailable(1L, start.plusHours(5), start.plusHours(7))).isEqualTo(FALSE);
+    }
+
+    @Test
+    void admit_whenPeriodIsTaken_thenIllegalArgumentExceptionThrownAndNothingSaved() {
+        AtomicInteger saves = new AtomicInteger();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> availabilityIndex.admit(1L, start.plusHours(1), start.plusHours(3), () -> {
+                    saves.incrementAndGet();
+                    return Booking.builder().id(3L).build();
+                }));
+
+        assertThat(e.getMessage()).isEqualTo("Предмет с id: 1 уже забронирован на это время");
+        assertThat(saves.get()).isEqualTo(0);
+    }
+
+    @Test
+    void admit_whenSameItemAndPeriodRequestedConcurrently_thenOnlyOneBookingAdmitted() throws Exception {
+        int threads = 16;
+        AtomicLong ids = new AtomicLong(100);
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    try {
+                        availabilityIndex.admit(7L, start, start.plusHours(1),
+                                () -> Booking.builder().id(ids.incrementAndGet()).build());
+                        admitted.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(admitted.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(threads - 1);
+    }
+
+    @Test
+    void admit_whenDifferentItemsBookedConcurrently_thenAdmissionsRunInParallel() throws Exception {
+        int threads = 16;
+        CountDownLatch allSaving = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Booking>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                long itemId = 100L + i;
+                futures.add(executor.submit(() -> availabilityIndex.admit(itemId, start, start.plusHours(1), () -> {
+                    allSaving.countDown();
+                    try {
+                        if (!allSaving.await(10, TimeUnit.SECONDS)) {
+                            throw new IllegalStateException("Бронирования разных вещей выполняются последовательно");
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    }
+                    return Booking.builder().id(itemId).build();
+                })));
+            }
+            for (Future<Booking> future : futures) {
+                assertThat(future.get(20, TimeUnit.SECONDS)).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < threads; i++) {
+            assertThat(availabilityIndex.isAvailable(100L + i, start, start.plusHours(1))).isEqualTo(FALSE);
+        }
+    }
+
+    @Test
+    void rebuild_whenBookingsStored_thenIndexRestoredFromRepository() {
+        when(bookingRepository.findAllShortByStatusInAndEndTimeAfter(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(stored(3L, 5L, start, start.plusHours(1))));
+
+        availabilityIndex.rebuild();
+
+        assertThat(availabilityIndex.isAvailable(5L, start, start.plusMinutes(30))).isEqualTo(FALSE);
+        assertThat(availabilityIndex.isAvailable(1L, start, start.plusHours(2))).isEqualTo(TRUE);
+    }
+
+    @Test
+    void isAvailable_whenRebuiltFromOverlappingBookings_thenLongBookingStillBlocks() {
+        when(bookingRepository.findAllShortByStatusInAndEndTimeAfter(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(
+                        stored(3L, 5L, start.plusHours(1), start.plusHours(10)),
+                        stored(4L, 5L, start.plusHours(2), start.plusHours(3))));
+
+        availabilityIndex.rebuild();
+
+        assertThat(availabilityIndex.isAvailable(5L, start.plusHours(4), start.plusHours(5))).isEqualTo(FALSE);
+        assertThat(availabilityIndex.isAvailable(5L, start.plusHours(9), start.plusHours(11))).isEqualTo(FALSE);
+        assertThat(availabilityIndex.isAvailable(5L, start, start.plusHours(1))).isEqualTo(TRUE);
+        assertThat(availabilityIndex.isAvailable(5L, start.plusHours(10), start.plusHours(11))).isEqualTo(TRUE);
+    }
+
+    @Test
+    void removeItem_thenAllPeriodsOfItemFree() {
+        availabilityIndex.removeItem(1L);
+
+        assertThat(availabilityIndex.isAvailable(1L, start.minusHours(1), start.plusHours(7))).isEqualTo(TRUE);
+    }
+
+    private static BookingShort stored(long id, long itemId, LocalDateTime startTime, LocalDateTime endTime) {
+        return new BookingShort() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return 1L;
+            }
+
+            @Override
+            public LocalDateTime getStartTime() {
+                return startTime;
+            }
+
+            @Override
+            public LocalDateTime getEndTime() {
+                return endTime;
+            }
+        };
+    }
+}
@@ -7,7 +7,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
@@ -24,6 +26,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -320,4 +323,103 @@ public class BookingControllerTest {
 
         verify(bookingService, never()).getAllByOwnerQuery(anyLong(), any(BookingState.class), any(Pageable.class));
     }
+
+    @Test
+    void getAllByUserQuery_whenPageIsFull_thenNextCursorReturned() throws Exception {
+        BookingCursor after = new BookingCursor(bookingDto.getStart().plusDays(1), 5L);
+        when(bookingService.getAllByUserQuery(1L, BookingState.ALL, after, 1))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "ALL")
+                        .param("size", "1")
+                        .param("cursor", after.encode())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER,
+                        new BookingCursor(bookingDto.getStart(), bookingDto.getId()).encode()));
+
+        verify(bookingService, never()).getAllByUserQuery(anyLong(), any(BookingState.class), any(Pageable.class));
+    }
+
+    @Test
+    void getAllByOwnerQuery_whenCursorIsEmptyAndPageNotFull_thenFirstPageWithoutNextCursor() throws Exception {
+        when(bookingService.getAllByOwnerQuery(1L, BookingState.ALL, null, 10))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "ALL")
+                        .param("size", "10")
+                        .param("cursor", "")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllByUserQuery_whenCursorIsMalformed_thenStatusIsBadRequest() throws Exception {
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "ALL")
+                        .param("size", "10")
+                        .param("cursor", "not-a-cursor")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllByOwnerQuery_whenOnlyCursorGiven_thenSeekPageReturned() throws Exception {
+        BookingCursor after = new BookingCursor(bookingDto.getStart().plusDays(1), 5L);
+        when(bookingService.getAllByOwnerQuery(1L, BookingState.ALL, after, 10))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "ALL")
+                        .param("size", "10")
+                        .param("cursor", after.encode())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(bookingService).getAllByOwnerQuery(1L, BookingState.ALL, after, 10);
+        verify(bookingService, never()).getAllByOwnerQuery(anyLong(), any(BookingState.class), any(Pageable.class));
+    }
+
+    @Test
+    void getAllByUserQuery_whenCursorAndFromGiven_thenStatusIsBadRequest() throws Exception {
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "10")
+                        .param("cursor", "")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void getAllByUserQuery_whenNeitherCursorNorFromGiven_thenFirstPageReturned() throws Exception {
+        Pageable firstPage = PageRequest.of(0, 10, Sort.by(Sort.Order.desc("startTime"), Sort.Order.desc("id")));
+        when(bookingService.getAllByUserQuery(1L, BookingState.ALL, firstPage))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "ALL")
+                        .param("size", "10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(bookingService).getAllByUserQuery(1L, BookingState.ALL, firstPage);
+    }
 }
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.booking.BookingRepositoryExplainTest$SqlRecorder")
+class BookingRepositoryExplainTest {
+
+    private static final String TABLE_SCAN = ".tableScan";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void everyQueryMethod_thenUsesIndexInsteadOfTableScan() {
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(1, 10, Sort.by(Sort.Order.desc("startTime"), Sort.Order.desc("id")));
+        Sort byStart = Sort.by(Sort.Direction.DESC, "startTime");
+        BookingCursor cursor = new BookingCursor(now, 10L);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findLastApprovedByItemIdIn",
+                () -> bookingRepository.findLastApprovedByItemIdIn(List.of(1L, 2L), now));
+        queries.put("findNextApprovedByItemIdIn",
+                () -> bookingRepository.findNextApprovedByItemIdIn(List.of(1L, 2L), now));
+        queries.put("findAllByBookerId",
+                () -> bookingRepository.findAllByBookerId(1L, page));
+        queries.put("findAllByBookerIdAndStartTimeBeforeAndEndTimeAfter",
+                () -> bookingRepository.findAllByBookerIdAndStartTimeBeforeAndEndTimeAfter(1L, now, now, page));
+        queries.put("findAllByBookerIdAndStartTimeAfter",
+                () -> bookingRepository.findAllByBookerIdAndStartTimeAfter(1L, now, page));
+        queries.put("findAllByBookerIdAndEndTimeBefore",
+                () -> bookingRepository.findAllByBookerIdAndEndTimeBefore(1L, now, page));
+        queries.put("findAllByBookerIdAndStatus",
+                () -> bookingRepository.findAllByBookerIdAndStatus(1L, Status.WAITING, page));
+        queries.put("findAllByOwnerId",
+                () -> bookingRepository.findAllByOwnerId(1L, page));
+        queries.put("findAllByOwnerIdAndStartTimeBeforeAndEndTimeAfter",
+                () -> bookingRepository.findAllByOwnerIdAndStartTimeBeforeAndEndTimeAfter(1L, now, now, page));
+        queries.put("findAllByOwnerIdAndStartTimeAfter",
+                () -> bookingRepository.findAllByOwnerIdAndStartTimeAfter(1L, now, page));
+        queries.put("findAllByOwnerIdAndEndTimeBefore",
+                () -> bookingRepository.findAllByOwnerIdAndEndTimeBefore(1L, now, page));
+        queries.put("findAllByOwnerIdAndStatus",
+                () -> bookingRepository.findAllByOwnerIdAndStatus(1L, Status.WAITING, page));
+        queries.put("findAllByBookerIdAndItemIdAndStatusIsAndEndTimeBefore",
+                () -> bookingRepository.findAllByBookerIdAndItemIdAndStatusIsAndEndTimeBefore(
+                        1L, 1L, Status.APPROVED, now));
+        queries.put("findAllShortByStatusInAndEndTimeAfter",
+                () -> bookingRepository.findAllShortByStatusInAndEndTimeAfter(
+                        BookingAvailabilityIndex.OCCUPYING_STATUSES, now));
+        queries.put("findAllShortByBookerIdAndStatusInAndEndTimeAfter",
+                () -> bookingRepository.findAllShortByBookerIdAndStatusInAndEndTimeAfter(
+                        1L, BookingAvailabilityIndex.OCCUPYING_STATUSES, now));
+        queries.put("findFirstByItemIdAndStatusEqualsAndStartTimeIsBefore",
+                () -> bookingRepository.findFirstByItemIdAndStatusEqualsAndStartTimeIsBefore(
+                        1L, Status.APPROVED, now, byStart));
+        queries.put("findFirstByItemIdAndStatusEqualsAndStartTimeIsAfter",
+                () -> bookingRepository.findFirstByItemIdAndStatusEqualsAndStartTimeIsAfter(
+                        1L, Status.APPROVED, now, byStart));
+        queries.put("findAllByBookerIdAfter", () -> {
+            bookingRepository.findAllByBookerIdAfter(1L, BookingState.ALL, now, cursor, 10);
+            bookingRepository.findAllByBookerIdAfter(1L, BookingState.WAITING, now, null, 10);
+        });
+        queries.put("findAllByOwnerIdAfter", () -> {
+            bookingRepository.findAllByOwnerIdAfter(1L, BookingState.ALL, now, cursor, 10);
+            bookingRepository.findAllByOwnerIdAfter(1L, BookingState.PAST, now, null, 10);
+        });
+
+        assertThat(queries.keySet()).containsExactlyInAnyOrderElementsOf(declaredQueryMethods());
+
+        Map<String, String> tableScans = new LinkedHashMap<>();
+        queries.forEach((method, query) -> {
+            SqlRecorder.STATEMENTS.clear();
+            query.run();
+            assertThat(SqlRecorder.STATEMENTS).as(method).isNotEmpty();
+            for (String sql : SqlRecorder.STATEMENTS) {
+                String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+                if (plan != null && plan.contains(TABLE_SCAN)) {
+                    tableScans.put(method, plan);
+                }
+            }
+        });
+
+        assertThat(tableScans).isEmpty();
+    }
+
+    @Test
+    void ownerQueries_thenFilterByBookingsOwnerColumnInSingleStatement() {
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startTime"));
+
+        SqlRecorder.STATEMENTS.clear();
+        bookingRepository.findAllByOwnerId(1L, page);
+        bookingRepository.findAllByOwnerIdAndStartTimeBeforeAndEndTimeAfter(1L, now, now, page);
+        bookingRepository.findAllByOwnerIdAndStatus(1L, Status.WAITING, page);
+        bookingRepository.findAllByOwnerIdAfter(1L, BookingState.CURRENT, now, new BookingCursor(now, 1L), 10);
+
+        assertThat(SqlRecorder.STATEMENTS).hasSize(4);
+        assertThat(SqlRecorder.STATEMENTS).allMatch(sql -> sql.toUpperCase(Locale.ROOT).contains(".OWNER_ID="));
+        assertThat(SqlRecorder.STATEMENTS)
+                .noneMatch(sql -> sql.toUpperCase(Locale.ROOT).matches("(?s).* WHERE .*ITEM\\w*\\.USER_ID.*"));
+    }
+
+    private static Set<String> declaredQueryMethods() {
+        return Stream.of(BookingRepository.class, BookingSeekRepository.class)
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+                .filter(method -> !method.isSynthetic())
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
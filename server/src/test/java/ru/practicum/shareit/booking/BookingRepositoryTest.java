@@ -0,0 +1,218 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static java.lang.Boolean.TRUE;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@DataJpaTest
+class BookingRepositoryTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+    private User booker;
+    private Item item1;
+    private Item item2;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .name("owner")
+                .email("owner@email.com")
+                .build());
+        booker = userRepository.save(User.builder()
+                .name("booker")
+                .email("booker@email.com")
+                .build());
+        item1 = itemRepository.save(Item.builder()
+                .name("item1")
+                .description("description1")
+                .available(TRUE)
+                .owner(owner)
+                .build());
+        item2 = itemRepository.save(Item.builder()
+                .name("item2")
+                .description("description2")
+                .available(TRUE)
+                .owner(owner)
+                .build());
+    }
+
+    @Test
+    void findLastAndNextApprovedByItemIdIn_thenReturnOneBookingPerItem() {
+        Booking oldPast = save(item1, now.minusDays(10), now.minusDays(9), Status.APPROVED);
+        Booking lastPast = save(item1, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        save(item1, now.minusDays(1), now.minusHours(1), Status.REJECTED);
+        Booking nearFuture = save(item1, now.plusDays(1), now.plusDays(2), Status.APPROVED);
+        save(item1, now.plusDays(3), now.plusDays(4), Status.APPROVED);
+        save(item1, now.plusHours(1), now.plusHours(2), Status.WAITING);
+        Booking onlyFuture = save(item2, now.plusDays(5), now.plusDays(6), Status.APPROVED);
+
+        List<Long> itemIds = List.of(item1.getId(), item2.getId());
+        Map<Long, BookingShort> last = bookingRepository.findLastApprovedByItemIdIn(itemIds, now)
+                .stream()
+                .collect(Collectors.toMap(BookingShort::getItemId, booking -> booking));
+        Map<Long, BookingShort> next = bookingRepository.findNextApprovedByItemIdIn(itemIds, now)
+                .stream()
+                .collect(Collectors.toMap(BookingShort::getItemId, booking -> booking));
+
+        assertThat(last.size()).isEqualTo(1);
+        assertThat(last.get(item1.getId()).getId()).isEqualTo(lastPast.getId());
+        assertThat(last.get(item1.getId()).getBookerId()).isEqualTo(booker.getId());
+        assertThat(last.get(item1.getId()).getStartTime()).isEqualTo(lastPast.getStartTime());
+        assertThat(last.get(item1.getId()).getEndTime()).isEqualTo(lastPast.getEndTime());
+        assertThat(last.get(item1.getId()).getId()).isNotEqualTo(oldPast.getId());
+        assertThat(next.size()).isEqualTo(2);
+        assertThat(next.get(item1.getId()).getId()).isEqualTo(nearFuture.getId());
+        assertThat(next.get(item2.getId()).getId()).isEqualTo(onlyFuture.getId());
+    }
+
+    @Test
+    void findLastAndNextApprovedByItemIdIn_whenTimesEqual_thenTieBrokenByBookingId() {
+        save(item1, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        Booking lastPast = save(item1, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        Booking nearFuture = save(item1, now.plusDays(1), now.plusDays(2), Status.APPROVED);
+        save(item1, now.plusDays(1), now.plusDays(2), Status.APPROVED);
+
+        List<Long> itemIds = List.of(item1.getId());
+
+        assertThat(bookingRepository.findLastApprovedByItemIdIn(itemIds, now).get(0).getId())
+                .isEqualTo(lastPast.getId());
+        assertThat(bookingRepository.findNextApprovedByItemIdIn(itemIds, now).get(0).getId())
+                .isEqualTo(nearFuture.getId());
+    }
+
+    @Test
+    void findAllShortByStatusInAndEndTimeAfter_thenReturnOnlyOccupyingBookings() {
+        Booking waiting = save(item1, now.plusDays(1), now.plusDays(2), Status.WAITING);
+        Booking approved = save(item2, now.minusDays(1), now.plusDays(1), Status.APPROVED);
+        save(item1, now.plusDays(3), now.plusDays(4), Status.REJECTED);
+        save(item1, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+
+        List<BookingShort> result = bookingRepository.findAllShortByStatusInAndEndTimeAfter(
+                BookingAvailabilityIndex.OCCUPYING_STATUSES, now);
+
+        assertThat(result.size()).isEqualTo(2);
+        Map<Long, BookingShort> byId = result.stream()
+                .collect(Collectors.toMap(BookingShort::getId, booking -> booking));
+        assertThat(byId.get(waiting.getId()).getItemId()).isEqualTo(item1.getId());
+        assertThat(byId.get(approved.getId()).getItemId()).isEqualTo(item2.getId());
+        assertThat(byId.get(approved.getId()).getEndTime()).isEqualTo(approved.getEndTime());
+    }
+
+    @Test
+    void findAllByBookerIdAfter_whenPagingWithCursor_thenEveryBookingReturnedOnceInOrder() {
+        Booking first = save(item1, now.plusDays(3), now.plusDays(4), Status.WAITING);
+        Booking second = save(item1, now.plusDays(2), now.plusDays(3), Status.APPROVED);
+        Booking third = save(item2, now.plusDays(2), now.plusDays(3), Status.WAITING);
+        Booking fourth = save(item2, now.plusDays(1), now.plusDays(2), Status.APPROVED);
+        save(item1, now.minusDays(2), now.minusDays(1), Status.APPROVED);
+
+        List<BookingView> page1 = bookingRepository.findAllByBookerIdAfter(booker.getId(), BookingState.FUTURE, now,
+                null, 2);
+        BookingView last = page1.get(page1.size() - 1);
+        List<BookingView> page2 = bookingRepository.findAllByBookerIdAfter(booker.getId(), BookingState.FUTURE, now,
+                new BookingCursor(last.getStartTime(), last.getId()), 2);
+        last = page2.get(page2.size() - 1);
+        List<BookingView> page3 = bookingRepository.findAllByBookerIdAfter(booker.getId(), BookingState.FUTURE, now,
+                new BookingCursor(last.getStartTime(), last.getId()), 2);
+
+        assertThat(ids(page1)).isEqualTo(List.of(first.getId(), third.getId()));
+        assertThat(ids(page2)).isEqualTo(List.of(second.getId(), fourth.getId()));
+        assertThat(page3.isEmpty()).isEqualTo(TRUE);
+    }
+
+    @Test
+    void findAllByOwnerIdAfter_whenStateIsWaiting_thenReturnOnlyWaitingBookings() {
+        Booking waiting = save(item1, now.plusDays(3), now.plusDays(4), Status.WAITING);
+        save(item2, now.plusDays(2), now.plusDays(3), Status.APPROVED);
+
+        List<BookingView> result = bookingRepository.findAllByOwnerIdAfter(item1.getOwner().getId(),
+                BookingState.WAITING, now, null, 10);
+
+        assertThat(ids(result)).isEqualTo(List.of(waiting.getId()));
+        assertThat(bookingRepository.findAllByOwnerIdAfter(booker.getId(), BookingState.ALL, now, null, 10)
+                .isEmpty()).isEqualTo(TRUE);
+    }
+
+    @Test
+    void findAllByOwnerIdAndStatus_thenProjectionFilledWithoutManagedEntities() {
+        Booking waiting = save(item1, now.plusDays(3), now.plusDays(4), Status.WAITING);
+        save(item2, now.plusDays(2), now.plusDays(3), Status.APPROVED);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingView> result = bookingRepository.findAllByOwnerIdAndStatus(item1.getOwner().getId(),
+                Status.WAITING, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startTime")));
+
+        assertThat(ids(result)).isEqualTo(List.of(waiting.getId()));
+        BookingView view = result.get(0);
+        assertThat(view.getBookerName()).isEqualTo("booker");
+        assertThat(view.getBookerEmail()).isEqualTo("booker@email.com");
+        assertThat(view.getItemName()).isEqualTo("item1");
+        assertThat(view.getItemAvailable()).isEqualTo(TRUE);
+        assertThat(view.getItemRequestId()).isNull();
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void findAllByBookerIdAfter_thenProjectionFilledWithoutManagedEntities() {
+        save(item2, now.plusDays(2), now.plusDays(3), Status.APPROVED);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingView> result = bookingRepository.findAllByBookerIdAfter(booker.getId(), BookingState.ALL, now,
+                null, 10);
+
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.get(0).getItemDescription()).isEqualTo("description2");
+        assertThat(result.get(0).getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    private static List<Long> ids(List<BookingView> bookings) {
+        return bookings.stream()
+                .map(BookingView::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Booking save(Item item, LocalDateTime start, LocalDateTime end, Status status) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .ownerId(item.getOwner().getId())
+                .startTime(start)
+                .endTime(end)
+                .status(status)
+                .build());
+    }
+}
@@ -13,12 +13,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.exception.NotAccessException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -27,13 +29,18 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static ru.practicum.shareit.booking.BookingState.*;
 
@@ -49,6 +56,12 @@ class BookingServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private UserIdIndex userIdIndex;
+
     @Spy
     private BookingMapper bookingMapper = new BookingMapper();
 
@@ -58,6 +71,7 @@ class BookingServiceImplTest {
     private BookingCreateDto bookingCreateDto;
     private BookingDto bookingDto;
     private Booking booking;
+    private BookingView bookingView;
     private User booker;
     private Item item;
 
@@ -108,6 +122,8 @@ class BookingServiceImplTest {
                 .booker(booker)
                 .status(Status.WAITING)
                 .build();
+        bookingView = new BookingView(1L, start, end, Status.WAITING, 1L, "name", "name@email.com",
+                1L, "name", "description", TRUE, null);
     }
 
     @AfterEach
@@ -116,6 +132,7 @@ class BookingServiceImplTest {
         bookingCreateDto = null;
         bookingDto = null;
         booking = null;
+        bookingView = null;
     }
 
     @Test
@@ -124,12 +141,35 @@ class BookingServiceImplTest {
                 .thenReturn(Optional.of(booker));
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
+        when(availabilityIndex.admit(eq(item.getId()), eq(bookingCreateDto.getStartTime()),
+                eq(bookingCreateDto.getEndTime()), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Booking>>getArgument(3).get());
         when(bookingRepository.save(any(Booking.class)))
                 .thenReturn(booking);
 
         BookingDto result = bookingService.create(bookingCreateDto, booker.getId());
 
         assertThat(result).isEqualTo(bookingDto);
+
+        verify(bookingRepository).save(argThat(saved -> item.getOwner().getId().equals(saved.getOwnerId())));
+    }
+
+    @Test
+    void create_whenPeriodOverlapsExistingBooking_thenIllegalArgumentExceptionThrown() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booker));
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(availabilityIndex.admit(eq(item.getId()), eq(bookingCreateDto.getStartTime()),
+                eq(bookingCreateDto.getEndTime()), any()))
+                .thenThrow(new IllegalArgumentException("Предмет с id: 1 уже забронирован на это время"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> bookingService.create(bookingCreateDto, booker.getId()));
+
+        assertThat(e.getMessage()).isEqualTo("Предмет с id: 1 уже забронирован на это время");
+
+        verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
@@ -201,7 +241,7 @@ class BookingServiceImplTest {
         item.setOwner(booker);
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
         when(bookingRepository.save((any(Booking.class))))
                 .thenReturn(booking);
@@ -209,6 +249,29 @@ class BookingServiceImplTest {
         BookingDto result = bookingService.update(booking.getId(), booker.getId(), TRUE);
 
         assertThat(result).isEqualTo(bookingDto);
+
+        verify(availabilityIndex, never()).admit(anyLong(), any(), any(), any());
+        verify(availabilityIndex, never()).release(anyLong(), anyLong());
+    }
+
+    @Test
+    void update_whenRejectedBookingApprovedForTakenPeriod_thenIllegalArgumentExceptionThrown() {
+        booking.setStatus(Status.REJECTED);
+        item.setOwner(booker);
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+        when(userIdIndex.contains(anyLong()))
+                .thenReturn(TRUE);
+        when(availabilityIndex.admit(eq(item.getId()), eq(booking.getStartTime()), eq(booking.getEndTime()), any()))
+                .thenThrow(new IllegalArgumentException("Предмет с id: 1 уже забронирован на это время"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> bookingService.update(booking.getId(), booker.getId(), TRUE));
+
+        assertThat(e.getMessage()).isEqualTo("Предмет с id: 1 уже забронирован на это время");
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+        assertThat(booking.getStatus()).isEqualTo(Status.REJECTED);
     }
 
     @Test
@@ -217,7 +280,7 @@ class BookingServiceImplTest {
         item.setOwner(booker);
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
         when(bookingRepository.save((any(Booking.class))))
                 .thenReturn(booking);
@@ -225,12 +288,14 @@ class BookingServiceImplTest {
         BookingDto result = bookingService.update(booking.getId(), booker.getId(), FALSE);
 
         assertThat(result).isEqualTo(bookingDto);
+
+        verify(availabilityIndex).release(item.getId(), booking.getId());
     }
 
     @Test
     void update_whenBookingNotFound_thenNotFoundExceptionThrown() {
         Long bookingId = 100L;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
@@ -246,7 +311,7 @@ class BookingServiceImplTest {
     void update_whenUserNotFound_thenNotFoundExceptionThrown() {
         long userId = 100L;
 
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(FALSE);
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -261,7 +326,7 @@ class BookingServiceImplTest {
     void update_whenUserIsNotOwner_thenNotAccessExceptionThrown() {
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
 
         NotAccessException e = assertThrows(NotAccessException.class,
@@ -278,7 +343,7 @@ class BookingServiceImplTest {
         item.setOwner(booker);
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
 
         IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
@@ -291,7 +356,7 @@ class BookingServiceImplTest {
 
     @Test
     void getBooking_whenArgsIsValid_thenReturnBookingDto() {
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
@@ -304,7 +369,7 @@ class BookingServiceImplTest {
     @Test
     void getBooking_whenUserNotFound_thenNotFoundExceptionThrown() {
         long userId = 100L;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(FALSE);
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -316,7 +381,7 @@ class BookingServiceImplTest {
     @Test
     void getBooking_whenBookingNotFound_thenNotFoundExceptionThrown() {
         Long bookingId = 100L;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
@@ -330,7 +395,7 @@ class BookingServiceImplTest {
     @Test
     void getBooking_whenUserIsNotOwnerOrBooker_thenNotAccessExceptionThrown() {
         long userId = 100L;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
@@ -346,10 +411,10 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
         when(bookingRepository.findAllByBookerId(anyLong(), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingView));
 
         Collection<BookingDto> result = bookingService.getAllByUserQuery(
                 userId,
@@ -366,11 +431,11 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
         when(bookingRepository.findAllByBookerIdAndStartTimeBeforeAndEndTimeAfter(
                 anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingView));
 
         Collection<BookingDto> result = bookingService.getAllByUserQuery(
                 userId,
@@ -388,11 +453,11 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
         when(bookingRepository.findAllByBookerIdAndStartTimeAfter(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingView));
 
         Collection<BookingDto> result = bookingService.getAllByUserQuery(
                 userId,
@@ -410,11 +475,11 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
         when(bookingRepository.findAllByBookerIdAndEndTimeBefore(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingView));
 
         Collection<BookingDto> result = bookingService.getAllByUserQuery(
                 userId,
@@ -432,11 +497,11 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
         when(bookingRepository.findAllByBookerIdAndStatus(
                 anyLong(), any(Status.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingView));
 
         Collection<BookingDto> result = bookingService.getAllByUserQuery(
                 userId,
@@ -454,11 +519,11 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
         when(bookingRepository.findAllByBookerIdAndStatus(
                 anyLong(), any(Status.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingView));
 
         Collection<BookingDto> result = bookingService.getAllByUserQuery(
                 userId,
@@ -476,7 +541,7 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(FALSE);
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -504,10 +569,10 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
-        when(bookingRepository.findAllByItemOwnerId(anyLong(), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findAllByOwnerId(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(bookingView));
 
         Collection<BookingDto> result = bookingService.getAllByOwnerQuery(
                 userId,
@@ -516,7 +581,7 @@ class BookingServiceImplTest {
 
         assertThat(result).isEqualTo(List.of(bookingDto));
 
-        verify(bookingRepository).findAllByItemOwnerId(anyLong(), any(Pageable.class));
+        verify(bookingRepository).findAllByOwnerId(anyLong(), any(Pageable.class));
     }
 
     @Test
@@ -524,11 +589,11 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
-        when(bookingRepository.findAllByItemOwnerIdAndStartTimeBeforeAndEndTimeAfter(
+        when(bookingRepository.findAllByOwnerIdAndStartTimeBeforeAndEndTimeAfter(
                 anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingView));
 
         Collection<BookingDto> result = bookingService.getAllByOwnerQuery(
                 userId,
@@ -537,7 +602,7 @@ class BookingServiceImplTest {
 
         assertThat(result).isEqualTo(List.of(bookingDto));
 
-        verify(bookingRepository).findAllByItemOwnerIdAndStartTimeBeforeAndEndTimeAfter(
+        verify(bookingRepository).findAllByOwnerIdAndStartTimeBeforeAndEndTimeAfter(
                 anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
     }
 
@@ -546,11 +611,11 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
-        when(bookingRepository.findAllByItemOwnerIdAndStartTimeAfter(
+        when(bookingRepository.findAllByOwnerIdAndStartTimeAfter(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingView));
 
         Collection<BookingDto> result = bookingService.getAllByOwnerQuery(
                 userId,
@@ -559,7 +624,7 @@ class BookingServiceImplTest {
 
         assertThat(result).isEqualTo(List.of(bookingDto));
 
-        verify(bookingRepository).findAllByItemOwnerIdAndStartTimeAfter(
+        verify(bookingRepository).findAllByOwnerIdAndStartTimeAfter(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class));
     }
 
@@ -568,11 +633,11 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
-        when(bookingRepository.findAllByItemOwnerIdAndEndTimeBefore(
+        when(bookingRepository.findAllByOwnerIdAndEndTimeBefore(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingView));
 
         Collection<BookingDto> result = bookingService.getAllByOwnerQuery(
                 userId,
@@ -581,7 +646,7 @@ class BookingServiceImplTest {
 
         assertThat(result).isEqualTo(List.of(bookingDto));
 
-        verify(bookingRepository).findAllByItemOwnerIdAndEndTimeBefore(
+        verify(bookingRepository).findAllByOwnerIdAndEndTimeBefore(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class));
     }
 
@@ -590,11 +655,11 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
-        when(bookingRepository.findAllByItemOwnerIdAndStatus(
+        when(bookingRepository.findAllByOwnerIdAndStatus(
                 anyLong(), any(Status.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingView));
 
         Collection<BookingDto> result = bookingService.getAllByOwnerQuery(
                 userId,
@@ -603,7 +668,7 @@ class BookingServiceImplTest {
 
         assertThat(result).isEqualTo(List.of(bookingDto));
 
-        verify(bookingRepository).findAllByItemOwnerIdAndStatus(
+        verify(bookingRepository).findAllByOwnerIdAndStatus(
                 anyLong(), any(Status.class), any(Pageable.class));
     }
 
@@ -612,11 +677,11 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(TRUE);
-        when(bookingRepository.findAllByItemOwnerIdAndStatus(
+        when(bookingRepository.findAllByOwnerIdAndStatus(
                 anyLong(), any(Status.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(bookingView));
 
         Collection<BookingDto> result = bookingService.getAllByOwnerQuery(
                 userId,
@@ -625,7 +690,7 @@ class BookingServiceImplTest {
 
         assertThat(result).isEqualTo(List.of(bookingDto));
 
-        verify(bookingRepository).findAllByItemOwnerIdAndStatus(
+        verify(bookingRepository).findAllByOwnerIdAndStatus(
                 anyLong(), any(Status.class), any(Pageable.class));
     }
 
@@ -634,7 +699,7 @@ class BookingServiceImplTest {
         long userId = 2L;
         int from = 5;
         int size = 10;
-        when(userRepository.existsById(anyLong()))
+        when(userIdIndex.contains(anyLong()))
                 .thenReturn(FALSE);
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -645,15 +710,60 @@ class BookingServiceImplTest {
 
         assertThat(e.getMessage()).isEqualTo(String.format("Пользователь с id: %d не найден", userId));
 
-        verify(bookingRepository, never()).findAllByItemOwnerId(
+        verify(bookingRepository, never()).findAllByOwnerId(
                 anyLong(), any(Pageable.class));
-        verify(bookingRepository, never()).findAllByItemOwnerIdAndStartTimeBeforeAndEndTimeAfter(
+        verify(bookingRepository, never()).findAllByOwnerIdAndStartTimeBeforeAndEndTimeAfter(
                 anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
-        verify(bookingRepository, never()).findAllByItemOwnerIdAndStartTimeAfter(
+        verify(bookingRepository, never()).findAllByOwnerIdAndStartTimeAfter(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class));
-        verify(bookingRepository, never()).findAllByItemOwnerIdAndEndTimeBefore(
+        verify(bookingRepository, never()).findAllByOwnerIdAndEndTimeBefore(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class));
-        verify(bookingRepository, never()).findAllByItemOwnerIdAndStatus(
+        verify(bookingRepository, never()).findAllByOwnerIdAndStatus(
                 anyLong(), any(Status.class), any(Pageable.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllByUserQuery_whenCursorGiven_thenSeekPageReturned() {
+        long userId = 2L;
+        BookingCursor after = new BookingCursor(booking.getStartTime().plusDays(1), 7L);
+        when(userIdIndex.contains(userId))
+                .thenReturn(TRUE);
+        when(bookingRepository.findAllByBookerIdAfter(eq(userId), eq(FUTURE), any(LocalDateTime.class), eq(after), eq(10)))
+                .thenReturn(List.of(bookingView));
+
+        List<BookingDto> result = bookingService.getAllByUserQuery(userId, FUTURE, after, 10);
+
+        assertThat(result).isEqualTo(List.of(bookingDto));
+
+        verify(bookingRepository, never()).findAllByBookerIdAndStartTimeAfter(
+                anyLong(), any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void getAllByOwnerQuery_whenCursorGiven_thenSeekPageReturned() {
+        long userId = 2L;
+        when(userIdIndex.contains(userId))
+                .thenReturn(TRUE);
+        when(bookingRepository.findAllByOwnerIdAfter(eq(userId), eq(ALL), any(LocalDateTime.class), isNull(), eq(10)))
+                .thenReturn(List.of(bookingView));
+
+        List<BookingDto> result = bookingService.getAllByOwnerQuery(userId, ALL, null, 10);
+
+        assertThat(result).isEqualTo(List.of(bookingDto));
+    }
+
+    @Test
+    void getAllByOwnerQuery_whenCursorGivenAndUserNotFound_thenNotFoundExceptionThrown() {
+        long userId = 2L;
+        when(userIdIndex.contains(userId))
+                .thenReturn(FALSE);
+
+        NotFoundException e = assertThrows(NotFoundException.class,
+                () -> bookingService.getAllByOwnerQuery(userId, ALL, null, 10));
+
+        assertThat(e.getMessage()).isEqualTo(String.format("Пользователь с id: %d не найден", userId));
+
+        verify(bookingRepository, never()).findAllByOwnerIdAfter(
+                anyLong(), any(BookingState.class), any(LocalDateTime.class), any(), anyInt());
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.NotAccessException;
@@ -24,8 +25,10 @@ import java.util.List;
 import static java.lang.Boolean.TRUE;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -105,6 +108,58 @@ class ItemControllerTest {
         assertThat(result).isEqualTo(mapper.writeValueAsString(List.of(itemDto)));
     }
 
+    @Test
+    void getByOwner_whenIfNoneMatchEqualsEtag_thenStatusIsNotModified() throws Exception {
+        when(itemService.getByOwner(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(itemDto));
+
+        String etag = mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        String result = mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void getByOwner_whenItemsChanged_thenEtagChanged() throws Exception {
+        when(itemService.getByOwner(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(itemDto))
+                .thenReturn(List.of(itemDto.toBuilder().name("newName").build()));
+
+        String etag = mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
     @Test
     void getByOwner_whenUserNotFound_thenStatusIsNotFound() throws Exception {
         when(itemService.getByOwner(anyLong(), any(Pageable.class)))
@@ -163,6 +218,25 @@ class ItemControllerTest {
         assertThat(result).isEqualTo(mapper.writeValueAsString(itemDto));
     }
 
+    @Test
+    void createAll_whenItemsAreValid_thenStatusIsCreatedAndReturnSavedItems() throws Exception {
+        when(itemService.createAll(anyList(), anyLong()))
+                .thenReturn(List.of(itemDto));
+
+        String result = mvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(List.of(itemCreateDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(result).isEqualTo(mapper.writeValueAsString(List.of(itemDto)));
+    }
+
     @Test
     void update_whenItemIsValid_thenStatusIsOkAndReturnUpdatedItem() throws Exception {
         when(itemService.update(anyLong(), any(ItemDto.class)))
@@ -5,16 +5,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static java.lang.Boolean.TRUE;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 @DataJpaTest
+@Import(ItemSearchIndex.class)
 class ItemRepositoryTest {
 
     @Autowired
@@ -23,17 +29,22 @@ class ItemRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
     private Item item1;
     private Item item2;
     private User user;
 
     @BeforeEach
     void setUp() {
-        user = User.builder()
-                .id(1L)
+        user = userRepository.save(User.builder()
                 .name("userName")
                 .email("user@emailc.com")
-                .build();
+                .build());
         item1 = Item.builder()
                 .name("NaMe")
                 .description("description")
@@ -46,9 +57,9 @@ class ItemRepositoryTest {
                 .available(Boolean.FALSE)
                 .owner(user)
                 .build();
-        userRepository.save(user);
         itemRepository.save(item1);
         itemRepository.save(item2);
+        itemSearchIndex.rebuild();
     }
 
     @AfterEach
@@ -61,13 +72,48 @@ class ItemRepositoryTest {
     @Test
     void search() {
 
-        List<Item> result = itemRepository.search(
-                "name",
-                PageRequest.of(5 / 10, 10));
+        List<Long> result = itemSearchIndex.search("name", 5 / 10, 10);
 
         assertThat(result).isNotNull();
         assertThat(result.size()).isEqualTo(1);
-        assertThat(result.get(0).getName()).isEqualTo(item1.getName());
-        assertThat(result.get(0).getAvailable()).isEqualTo(TRUE);
+        Item found = itemRepository.findById(result.get(0)).orElseThrow();
+        assertThat(found.getName()).isEqualTo(item1.getName());
+        assertThat(found.getAvailable()).isEqualTo(TRUE);
+    }
+
+    @Test
+    void search_whenItemUpdated_thenIndexFollowsChanges() {
+        item1.setAvailable(Boolean.FALSE);
+        itemSearchIndex.index(itemRepository.save(item1));
+        item2.setAvailable(TRUE);
+        itemSearchIndex.index(itemRepository.save(item2));
+
+        assertThat(itemSearchIndex.search("name", 0, 10).isEmpty()).isEqualTo(TRUE);
+        assertThat(itemSearchIndex.search("DESCR", 0, 10)).isEqualTo(List.of(item2.getId()));
+        assertThat(itemSearchIndex.search("em", 0, 10)).isEqualTo(List.of(item2.getId()));
+    }
+
+    @Test
+    void findAllIdsDeletedWithUser_thenOwnItemsAndItemsForUserRequests() {
+        User requestor = userRepository.save(User.builder()
+                .name("requestor")
+                .email("requestor@email.com")
+                .build());
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("request")
+                .requestor(requestor)
+                .created(LocalDateTime.now())
+                .build());
+        Item answer = itemRepository.save(Item.builder()
+                .name("answer")
+                .description("answer")
+                .available(TRUE)
+                .owner(user)
+                .request(request)
+                .build());
+
+        assertThat(itemRepository.findAllIdsDeletedWithUser(requestor.getId())).isEqualTo(List.of(answer.getId()));
+        assertThat(new HashSet<>(itemRepository.findAllIdsDeletedWithUser(user.getId())))
+                .isEqualTo(Set.of(item1.getId(), item2.getId(), answer.getId()));
     }
 }
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.lang.Boolean.TRUE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    private static final int WRITERS = 8;
+    private static final int UPDATES = 50;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemSearchIndex itemSearchIndex;
+
+    @Test
+    void save_whenConcurrentUpdatesOfSameItem_thenIndexHasVersionSavedLast() throws Exception {
+        AtomicReference<String> savedName = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<Item>> updates = new ArrayList<>();
+            for (int i = 0; i < WRITERS * UPDATES; i++) {
+                String name = "version" + i;
+                updates.add(executor.submit(() -> itemSearchIndex.save(1L, () -> {
+                    savedName.set(name);
+                    pause();
+                    return item(name);
+                })));
+            }
+            for (Future<Item> update : updates) {
+                update.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(itemSearchIndex.search(savedName.get(), 0, 10)).containsExactly(1L);
+        assertThat(itemSearchIndex.search("version", 0, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void remove_thenItemNotFound() {
+        itemSearchIndex.index(item("name"));
+
+        itemSearchIndex.remove(1L);
+
+        assertThat(itemSearchIndex.search("name", 0, 10)).isEmpty();
+    }
+
+    private static Item item(String name) {
+        return Item.builder()
+                .id(1L)
+                .name(name)
+                .description("description")
+                .available(TRUE)
+                .build();
+    }
+
+    private static void pause() {
+        try {
+            TimeUnit.MICROSECONDS.sleep(ThreadLocalRandom.current().nextInt(100));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
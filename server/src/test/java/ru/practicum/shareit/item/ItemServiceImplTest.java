@@ -15,20 +15,26 @@ import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static java.lang.Boolean.TRUE;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +52,12 @@ class ItemServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
     @Spy
     private ItemMapper itemMapper = new ItemMapper();
     @Spy
@@ -226,6 +238,7 @@ class ItemServiceImplTest {
         assertThat(savedItemDto).isEqualTo(itemDto);
 
         verify(itemRepository).save(any(Item.class));
+        verify(itemSearchIndex).index(item);
     }
 
     @Test
@@ -251,6 +264,8 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(item));
         when(itemRepository.save(any(Item.class)))
                 .thenReturn(item);
+        when(itemSearchIndex.save(eq(item.getId()), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Item>>getArgument(1).get());
 
         ItemDto updatedItemDto =
                 itemService.update(owner.getId(), itemUpdateDto);
@@ -258,6 +273,7 @@ class ItemServiceImplTest {
         assertThat(updatedItemDto).isEqualTo(itemDto);
 
         verify(itemRepository).save(any(Item.class));
+        verify(itemSearchIndex).save(eq(item.getId()), any());
     }
 
     @Test
@@ -332,10 +348,11 @@ class ItemServiceImplTest {
         int size = 10;
         items.add(item);
         itemDto.setComments(Collections.emptyList());
-        when(itemRepository.search(
-                anyString(), any(Pageable.class)))
+        when(itemSearchIndex.search(text, 0, size))
+                .thenReturn(List.of(item.getId()));
+        when(itemRepository.findAllById(List.of(item.getId())))
                 .thenReturn(items);
-        when(commentRepository.findAllByItemId(anyLong(), any(Sort.class)))
+        when(commentRepository.findAllByItemIdIn(anyList(), any(Sort.class)))
                 .thenReturn(Collections.emptyList());
 
         Collection<ItemDto> itemDtoList = itemService.findAllByText(
@@ -345,8 +362,54 @@ class ItemServiceImplTest {
         assertThat(itemDtoList).isNotNull();
         assertThat(itemDtoList).isEqualTo(List.of(itemDto));
 
-        verify(itemRepository)
-                .search(anyString(), any(Pageable.class));
+        verify(itemSearchIndex).search(text, 0, size);
+    }
+
+    @Test
+    void findAllByText_whenPageHasManyItems_thenBookingsAndCommentsLoadedOncePerPage() {
+        String text = "name";
+        int size = 10;
+        User booker = User.builder()
+                .id(2L)
+                .name("booker")
+                .email("booker@email.com")
+                .build();
+        List<Long> ids = new ArrayList<>();
+        List<BookingShort> lastBookings = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            items.add(item.toBuilder().id(id).build());
+            ids.add(id);
+            lastBookings.add(bookingShort(id, id, booker.getId(),
+                    LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1)));
+        }
+        when(itemSearchIndex.search(text, 0, size))
+                .thenReturn(ids);
+        when(itemRepository.findAllById(ids))
+                .thenReturn(items);
+        when(bookingRepository.findLastApprovedByItemIdIn(eq(ids), any(LocalDateTime.class)))
+                .thenReturn(lastBookings);
+        when(bookingRepository.findNextApprovedByItemIdIn(eq(ids), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+        when(commentRepository.findAllByItemIdIn(anyList(), any(Sort.class)))
+                .thenReturn(Collections.emptyList());
+
+        List<ItemDto> itemDtoList = new ArrayList<>(itemService.findAllByText(text, PageRequest.of(0, size)));
+
+        assertThat(itemDtoList.size()).isEqualTo(size);
+        for (int i = 0; i < size; i++) {
+            assertThat(itemDtoList.get(i).getId()).isEqualTo(ids.get(i));
+            assertThat(itemDtoList.get(i).getLastBooking().getId()).isEqualTo(ids.get(i));
+            assertThat(itemDtoList.get(i).getNextBooking()).isNull();
+        }
+
+        verify(bookingRepository).findLastApprovedByItemIdIn(eq(ids), any(LocalDateTime.class));
+        verify(bookingRepository).findNextApprovedByItemIdIn(eq(ids), any(LocalDateTime.class));
+        verify(commentRepository).findAllByItemIdIn(anyList(), any(Sort.class));
+        verify(bookingRepository, never()).findFirstByItemIdAndStatusEqualsAndStartTimeIsBefore(anyLong(),
+                any(Status.class), any(LocalDateTime.class), any(Sort.class));
+        verify(bookingRepository, never()).findFirstByItemIdAndStatusEqualsAndStartTimeIsAfter(anyLong(),
+                any(Status.class), any(LocalDateTime.class), any(Sort.class));
+        verify(commentRepository, never()).findAllByItemId(anyLong(), any(Sort.class));
     }
 
     @Test
@@ -477,4 +540,82 @@ class ItemServiceImplTest {
 
         verify(commentRepository, never()).save(any(Comment.class));
     }
+
+    private static BookingShort bookingShort(Long id, Long itemId, Long bookerId,
+                                             LocalDateTime start, LocalDateTime end) {
+        return new BookingShort() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return bookerId;
+            }
+
+            @Override
+            public LocalDateTime getStartTime() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndTime() {
+                return end;
+            }
+        };
+    }
+
+    @Test
+    void createAll_whenItemsValid_thenOwnerAndRequestsLoadedOnceAndItemsSavedTogether() {
+        ItemRequest request = ItemRequest.builder().id(7L).build();
+        List<ItemDto> createDtos = List.of(
+                itemCreateDto.toBuilder().requestId(7L).build(),
+                itemCreateDto.toBuilder().name("other").requestId(7L).build(),
+                itemCreateDto.toBuilder().name("third").build());
+        when(userRepository.findById(owner.getId()))
+                .thenReturn(Optional.of(owner));
+        when(itemRequestRepository.findAllById(Set.of(7L)))
+                .thenReturn(List.of(request));
+        when(itemRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<Item> toSave = invocation.getArgument(0);
+                    for (int i = 0; i < toSave.size(); i++) {
+                        toSave.get(i).setId(i + 1L);
+                    }
+                    return toSave;
+                });
+
+        List<ItemDto> result = itemService.createAll(createDtos, owner.getId());
+
+        assertThat(result.size()).isEqualTo(3);
+        assertThat(result.get(0).getId()).isEqualTo(1L);
+        assertThat(result.get(0).getRequestId()).isEqualTo(7L);
+        assertThat(result.get(1).getRequestId()).isEqualTo(7L);
+        assertThat(result.get(2).getRequestId()).isNull();
+
+        verify(userRepository, times(1)).findById(anyLong());
+        verify(itemRequestRepository, times(1)).findAllById(any());
+        verify(itemRepository, never()).save(any(Item.class));
+        verify(itemSearchIndex, times(3)).index(any(Item.class));
+    }
+
+    @Test
+    void createAll_whenOwnerNotFound_thenNotFoundExceptionThrown() {
+        when(userRepository.findById(100L))
+                .thenReturn(Optional.empty());
+
+        NotFoundException e = assertThrows(NotFoundException.class,
+                () -> itemService.createAll(List.of(itemCreateDto), 100L));
+
+        assertThat(e.getMessage()).isEqualTo("Пользователь с id: 100 не найден");
+
+        verify(itemRepository, never()).saveAll(anyList());
+        verify(itemSearchIndex, never()).index(any(Item.class));
+    }
 }
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.user.UserService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:connection-pool",
+        "spring.datasource.hikari.maximum-pool-size=" + ConnectionPoolTest.POOL_SIZE,
+        "shareit.datasource.pool.slow-acquire-threshold=50ms"})
+class ConnectionPoolTest {
+
+    static final int POOL_SIZE = 2;
+    private static final long HOLD_MS = 200;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void poolSize_thenProportionalToTomcatThreadsWithinBounds() {
+        ConnectionPoolProperties properties = new ConnectionPoolProperties();
+
+        assertThat(properties.poolSize(200)).isEqualTo(20);
+        assertThat(properties.poolSize(8)).isEqualTo(properties.getMinSize());
+        assertThat(properties.poolSize(10_000)).isEqualTo(properties.getMaxSize());
+    }
+
+    @Test
+    void poolSize_whenMaximumPoolSizeSetExplicitly_thenExplicitValueUsed() {
+        assertThat(primaryDataSource.getMaximumPoolSize()).isEqualTo(POOL_SIZE);
+    }
+
+    @Test
+    void poolMetrics_thenExposedThroughActuator() {
+        userService.findAll();
+
+        for (String metric : new String[]{"active", "idle", "pending", "acquire"}) {
+            assertThat(rest.getForEntity("/actuator/metrics/hikaricp.connections." + metric, String.class)
+                    .getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", primaryDataSource.getPoolName())
+                .timer();
+        assertThat(acquire).isNotNull();
+        assertThat(acquire.count()).isPositive();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire.percentile").tag("phi", "0.99").gauge())
+                .isNotNull();
+    }
+
+    @Test
+    void slowAcquire_thenCountedWithCallingServiceMethod() throws Exception {
+        List<Connection> held = new ArrayList<>();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            held.add(primaryDataSource.getConnection());
+        }
+        CompletableFuture<Void> release = CompletableFuture.runAsync(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(HOLD_MS);
+                for (Connection connection : held) {
+                    connection.close();
+                }
+            } catch (InterruptedException | SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        userService.findAll();
+        release.get();
+
+        Counter slowAcquires = meterRegistry.find(SlowAcquireMetricsTrackerFactory.SLOW_ACQUIRE_METRIC)
+                .tag("caller", "UserServiceImpl.findAll")
+                .counter();
+        assertThat(slowAcquires).isNotNull();
+        assertThat(slowAcquires.count()).isEqualTo(1);
+    }
+
+    @Test
+    void caller_whenNoServiceInStack_thenFirstApplicationMethod() {
+        assertThat(SlowAcquireMetricsTrackerFactory.caller())
+                .isEqualTo("ConnectionPoolTest.caller_whenNoServiceInStack_thenFirstApplicationMethod");
+    }
+}
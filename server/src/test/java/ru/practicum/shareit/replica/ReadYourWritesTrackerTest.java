@@ -0,0 +1,22 @@
+package ru.practicum.shareit.replica;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesTrackerTest {
+
+    @Test
+    void isSticky_whenWriteRecorded_thenStickyOnlyForThisUserWithinWindow() throws InterruptedException {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMillis(100));
+
+        tracker.recordWrite(1L);
+
+        assertThat(tracker.isSticky(1L)).isTrue();
+        assertThat(tracker.isSticky(2L)).isFalse();
+        Thread.sleep(150);
+        assertThat(tracker.isSticky(1L)).isFalse();
+    }
+}
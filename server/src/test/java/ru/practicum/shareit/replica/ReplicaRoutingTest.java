@@ -0,0 +1,150 @@
+package ru.practicum.shareit.replica;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Основная БД и реплика — две независимые H2 в памяти, репликации между ними нет: по содержимому ответа видно,
+ * из какой БД он прочитан.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "shareit.datasource.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL,
+        "shareit.datasource.replicas.sticky-window=" + ReplicaRoutingTest.STICKY_WINDOW_MS + "ms"})
+class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+    static final long STICKY_WINDOW_MS = 300;
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void migrateReplica() {
+        DataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "test", "test");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        replica = new JdbcTemplate(dataSource);
+        replica.update("insert into USERS (USER_ID, USER_NAME, USER_EMAIL) values (1000, 'replica', 'replica@email.com')");
+    }
+
+    @AfterAll
+    static void dropReplica() {
+        replica.execute("drop all objects");
+    }
+
+    @Test
+    void getAll_whenNoRecentWrites_thenReadFromReplica() {
+        UserDto[] users = rest.getForObject("/users", UserDto[].class);
+
+        assertThat(users).extracting(UserDto::getEmail)
+                .contains("replica@email.com")
+                .doesNotContain("primary@email.com");
+    }
+
+    @Test
+    void create_thenWrittenToPrimaryOnly() {
+        UserDto created = createUser("primary@email.com");
+
+        assertThat(new JdbcTemplate(primaryDataSource).queryForObject(
+                "select count(*) from USERS where USER_ID = ?", Long.class, created.getId())).isEqualTo(1);
+        assertThat(replica.queryForObject(
+                "select count(*) from USERS where USER_ID = ?", Long.class, created.getId())).isZero();
+    }
+
+    @Test
+    void getAll_whenUserWroteRecently_thenReadFromPrimaryUntilWindowExpires() throws InterruptedException {
+        UserDto user = createUser("writer@email.com");
+        replica.update("insert into USERS (USER_ID, USER_NAME, USER_EMAIL) values (?, ?, ?)",
+                user.getId(), user.getName(), user.getEmail());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(user.getId()));
+
+        ResponseEntity<ItemRequestDto> created = rest.exchange("/requests", HttpMethod.POST,
+                new HttpEntity<>(ItemRequestDto.builder().description("description").build(), headers),
+                ItemRequestDto.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        assertThat(getRequests(headers)).hasSize(1);
+        Thread.sleep(STICKY_WINDOW_MS + 200);
+        assertThat(getRequests(headers)).isEmpty();
+    }
+
+    @Test
+    void getById_whenUserCreatedOrDeletedWithoutHeader_thenReadFromPrimaryUntilWindowExpires()
+            throws InterruptedException {
+        UserDto user = createUser("created@email.com");
+        entityManagerFactory.getCache().evictAll();
+
+        assertThat(getUser(user.getId()).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        replica.update("insert into USERS (USER_ID, USER_NAME, USER_EMAIL) values (?, ?, ?)",
+                user.getId(), user.getName(), user.getEmail());
+        Thread.sleep(STICKY_WINDOW_MS + 200);
+        rest.delete("/users/" + user.getId());
+
+        assertThat(getUser(user.getId()).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        Thread.sleep(STICKY_WINDOW_MS + 200);
+        assertThat(getUser(user.getId()).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void getById_whenReadFromReplica_thenNotPutIntoSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+
+        ResponseEntity<UserDto> response = getUser(1000L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getEmail()).isEqualTo("replica@email.com");
+        assertThat(entityManagerFactory.getCache().contains(User.class, 1000L)).isFalse();
+    }
+
+    private ResponseEntity<UserDto> getUser(long userId) {
+        return rest.getForEntity("/users/" + userId, UserDto.class);
+    }
+
+    private List<ItemRequestDto> getRequests(HttpHeaders headers) {
+        ItemRequestDto[] requests = rest.exchange("/requests", HttpMethod.GET, new HttpEntity<>(headers),
+                ItemRequestDto[].class).getBody();
+        assertThat(requests).isNotNull();
+        return List.of(requests);
+    }
+
+    private UserDto createUser(String email) {
+        ResponseEntity<UserDto> response = rest.postForEntity("/users",
+                UserDto.builder().name("name").email(email).build(), UserDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+import static java.lang.Boolean.TRUE;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Удаление пользователя каскадом удаляет в БД его вещи и бронирования: индексы в памяти должны забыть о них.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:user-deletion")
+class UserDeletionTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private UserDto owner;
+    private UserDto booker;
+    private UserDto other;
+    private ItemDto item;
+    private BookingCreateDto booking;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(user("owner"));
+        booker = userService.create(user("booker"));
+        other = userService.create(user("other"));
+        item = itemService.create(ItemDto.builder()
+                .name("drill")
+                .description("cordless drill")
+                .available(TRUE)
+                .build(), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        booking = BookingCreateDto.builder()
+                .itemId(item.getId())
+                .startTime(start)
+                .endTime(start.plusDays(1))
+                .build();
+    }
+
+    @Test
+    void delete_whenBookerDeleted_thenReservedPeriodFreed() {
+        bookingService.create(booking, booker.getId());
+        assertThrows(IllegalArgumentException.class, () -> bookingService.create(booking, other.getId()));
+
+        userService.delete(booker.getId());
+
+        assertThat(bookingService.create(booking, other.getId()).getStatus()).isEqualTo(Status.WAITING);
+    }
+
+    private static UserDto user(String name) {
+        return UserDto.builder()
+                .name(name)
+                .email(name + System.nanoTime() + "@email.com")
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserIdIndex userIdIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 2L, 50L, 5_000_000_000L));
+        userIdIndex.rebuild();
+    }
+
+    @Test
+    void contains_whenIdLoadedAtStartup_thenNoDatabaseQuery() {
+        assertThat(userIdIndex.contains(1L)).isTrue();
+        assertThat(userIdIndex.contains(5_000_000_000L)).isTrue();
+        assertThat(userIdIndex.size()).isEqualTo(4);
+
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void contains_whenIdUnknown_thenCheckedInDatabaseAndNotRemembered() {
+        when(userRepository.existsById(3L)).thenReturn(true);
+        when(userRepository.existsById(4L)).thenReturn(false);
+
+        assertThat(userIdIndex.contains(3L)).isTrue();
+        assertThat(userIdIndex.contains(4L)).isFalse();
+        assertThat(userIdIndex.size()).isEqualTo(4);
+
+        verify(userRepository, times(1)).existsById(3L);
+        verify(userRepository, times(1)).existsById(4L);
+    }
+
+    @Test
+    void contains_whenUserFromDatabaseDeletedElsewhere_thenNotFound() {
+        when(userRepository.existsById(3L)).thenReturn(true, false);
+
+        assertThat(userIdIndex.contains(3L)).isTrue();
+        assertThat(userIdIndex.contains(3L)).isFalse();
+    }
+
+    @Test
+    void addAndRemove_whenUserCreatedAndDeleted_thenIndexFollows() {
+        userIdIndex.add(7L);
+        assertThat(userIdIndex.contains(7L)).isTrue();
+
+        userIdIndex.remove(7L);
+        when(userRepository.existsById(7L)).thenReturn(false);
+
+        assertThat(userIdIndex.contains(7L)).isFalse();
+    }
+}
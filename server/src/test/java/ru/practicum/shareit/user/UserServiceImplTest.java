@@ -4,13 +4,22 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import ru.practicum.shareit.booking.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.replica.ReadYourWritesTracker;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +36,24 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserIdIndex userIdIndex;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+
     @Spy
     private UserMapper userMapper = new UserMapper();
 
@@ -109,6 +136,7 @@ class UserServiceImplTest {
 
         assertThat(savedUser).isNotNull();
         assertThat(savedUser).isEqualTo(userDtoForUser1);
+        verify(userIdIndex).add(user1.getId());
     }
 
     @Test
@@ -140,10 +168,21 @@ class UserServiceImplTest {
     @Test
     void delete() {
         Long userId = 1L;
+        BookingShort booking = mock(BookingShort.class);
+        when(itemRepository.findAllIdsDeletedWithUser(userId)).thenReturn(List.of(10L, 11L));
+        when(availabilityIndex.findReservedByBooker(userId)).thenReturn(List.of(booking));
         willDoNothing().given(userRepository).deleteById(any());
 
         userService.delete(userId);
 
         verify(userRepository, times(1)).deleteById(userId);
+        verify(userIdIndex).remove(userId);
+        verify(entityManagerFactory.getCache()).evict(Item.class, 10L);
+        verify(entityManagerFactory.getCache()).evict(Item.class, 11L);
+        verify(itemSearchIndex).remove(10L);
+        verify(itemSearchIndex).remove(11L);
+        verify(availabilityIndex).removeItem(10L);
+        verify(availabilityIndex).removeItem(11L);
+        verify(availabilityIndex).release(booking);
     }
 }